@@ -0,0 +1,68 @@
+package com.dougnoel.sentinel.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dougnoel.sentinel.strings.AlphanumComparator;
+
+/**
+ * Measures comparing and sorting strings with the AlphanumComparator, both one comparison at a
+ * time and with the key-based sort.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AlphanumComparatorBenchmark {
+
+	@Param({ "100", "10000" })
+	public int size;
+
+	private final AlphanumComparator comparator = new AlphanumComparator();
+	private List<String> values;
+
+	@Setup
+	public void setUp() {
+		values = SyntheticData.cells(size, new Random(42));
+	}
+
+	@Benchmark
+	public int compareAdjacent() {
+		int result = 0;
+		for (int i = 1; i < values.size(); i++) {
+			result += comparator.compare(values.get(i - 1), values.get(i));
+		}
+		return result;
+	}
+
+	@Benchmark
+	public List<String> sortWithComparator() {
+		List<String> sorted = new ArrayList<>(values);
+		Collections.sort(sorted, comparator);
+		return sorted;
+	}
+
+	@Benchmark
+	public List<String> sortWithKeys() {
+		List<String> sorted = new ArrayList<>(values);
+		AlphanumComparator.sort(sorted);
+		return sorted;
+	}
+}
@@ -0,0 +1,100 @@
+package com.dougnoel.sentinel.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dougnoel.sentinel.configurations.ConfigurationManager;
+import com.dougnoel.sentinel.elements.PageElement;
+import com.dougnoel.sentinel.pages.Page;
+import com.dougnoel.sentinel.pages.PageData;
+
+/**
+ * Measures configuration and page object lookups that happen on every step: reading a configuration
+ * property, finding and parsing a page object file, looking up element data, and getting an element
+ * from a page by the name used in a feature file. Uses the Elements.yml page object from the unit
+ * tests, so it must be run from the project directory.
+ * <p>
+ * A page keeps every element it creates, so getting an element is measured on a new page each time,
+ * and getting it again from the same page is measured separately.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PageObjectBenchmark {
+	private static final String PAGE_NAME = "Elements";
+	private static final String PROPERTY_NAME = "benchmarkProperty";
+
+	private static final String ELEMENT_NAME = "Prime NG Radio Button";
+
+	private File pageObjectFile;
+	private Page page;
+
+	/**
+	 * A page that has not created any elements yet, made again before every call.
+	 */
+	@State(Scope.Thread)
+	public static class NewPage {
+		private Page page;
+
+		@Setup(Level.Invocation)
+		public void setUp() {
+			page = new Page(PAGE_NAME);
+		}
+	}
+
+	@Setup
+	public void setUp() {
+		System.setProperty("env", "dev");
+		System.setProperty(PROPERTY_NAME, "value");
+		pageObjectFile = ConfigurationManager.getPageObjectConfigPath(PAGE_NAME);
+		page = new Page(PAGE_NAME);
+		page.getElement(ELEMENT_NAME);
+	}
+
+	@Benchmark
+	public String getOptionalProperty() {
+		return ConfigurationManager.getOptionalProperty(PROPERTY_NAME);
+	}
+
+	@Benchmark
+	public File findPageObjectFile() {
+		return ConfigurationManager.getPageObjectConfigPath(PAGE_NAME);
+	}
+
+	@Benchmark
+	public PageData loadYaml() throws IOException {
+		return PageData.loadYaml(pageObjectFile);
+	}
+
+	@Benchmark
+	public Map<String, String> getElementData() {
+		return ConfigurationManager.getElement("generic", PAGE_NAME);
+	}
+
+	@Benchmark
+	public PageElement getElementByFeatureFileName(NewPage newPage) {
+		return newPage.page.getElement(ELEMENT_NAME);
+	}
+
+	@Benchmark
+	public PageElement getCreatedElementByFeatureFileName() {
+		return page.getElement(ELEMENT_NAME);
+	}
+}
@@ -0,0 +1,57 @@
+package com.dougnoel.sentinel.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates table-like data for the benchmarks so that they do not need a browser.
+ */
+final class SyntheticData {
+	private static final List<String> WORDS = Arrays.asList("Invoice", "Order", "Account", "dazzle", "EctoMorph", "Region ", "Q");
+
+	private SyntheticData() {
+		// Exists to defeat instantiation.
+	}
+
+	/**
+	 * Returns cell values made of a word followed by a number, such as "Invoice 1042" or "Q3.12",
+	 * the kind of values the AlphanumComparator is used to sort.
+	 *
+	 * @param size int the number of values to create
+	 * @param random Random the source of randomness, seeded so that runs can be compared
+	 * @return List&lt;String&gt; the values
+	 */
+	static List<String> cells(int size, Random random) {
+		List<String> cells = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			String cell = WORDS.get(random.nextInt(WORDS.size())) + random.nextInt(size * 10);
+			if (random.nextBoolean()) {
+				cell += "." + random.nextInt(20);
+			}
+			cells.add(cell);
+		}
+		return cells;
+	}
+
+	/**
+	 * Returns rows of cells, each row starting with a unique id so that the rows are unique when
+	 * every column is used as a key.
+	 *
+	 * @param rows int the number of rows to create
+	 * @param columns int the number of cells in each row
+	 * @param random Random the source of randomness, seeded so that runs can be compared
+	 * @return List&lt;List&lt;String&gt;&gt; the rows
+	 */
+	static List<List<String>> rows(int rows, int columns, Random random) {
+		List<List<String>> table = new ArrayList<>(rows);
+		for (int i = 0; i < rows; i++) {
+			List<String> row = new ArrayList<>(columns);
+			row.add("ID-" + i);
+			row.addAll(cells(columns - 1, random));
+			table.add(row);
+		}
+		return table;
+	}
+}
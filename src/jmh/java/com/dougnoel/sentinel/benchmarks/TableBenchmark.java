@@ -0,0 +1,78 @@
+package com.dougnoel.sentinel.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dougnoel.sentinel.elements.tables.DuplicateFinder;
+import com.dougnoel.sentinel.elements.tables.Table;
+import com.dougnoel.sentinel.strings.AlphanumComparator;
+
+/**
+ * Measures the column algorithms Table uses once the table data has been read from the browser:
+ * sort order verification and the uniqueness checks for single columns and composite keys.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TableBenchmark {
+
+	@Param({ "100", "5000" })
+	public int rows;
+
+	private List<String> sortedColumn;
+	private List<String> uniqueColumn;
+	private List<List<String>> compositeKeys;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(42);
+		sortedColumn = SyntheticData.cells(rows, random);
+		AlphanumComparator.sort(sortedColumn);
+
+		List<List<String>> table = SyntheticData.rows(rows, 4, random);
+		uniqueColumn = new ArrayList<>(rows);
+		compositeKeys = new ArrayList<>(rows);
+		for (List<String> row : table) {
+			uniqueColumn.add(row.get(0));
+			compositeKeys.add(row.subList(0, 3));
+		}
+	}
+
+	@Benchmark
+	public int verifyColumnSorted() {
+		return Table.indexOfFirstUnsortedValue(sortedColumn, true);
+	}
+
+	@Benchmark
+	public Map<String, List<Integer>> verifyColumnUnique() {
+		return DuplicateFinder.findDuplicates(uniqueColumn);
+	}
+
+	@Benchmark
+	public Map<String, List<Integer>> verifyColumnUniquePartialMatch() {
+		return DuplicateFinder.findPartialDuplicates(uniqueColumn);
+	}
+
+	@Benchmark
+	public Map<List<String>, List<Integer>> verifyRowsUnique() {
+		return DuplicateFinder.findDuplicates(compositeKeys);
+	}
+}
@@ -1,11 +1,11 @@
 package com.dougnoel.sentinel.configurations;
 
 import java.io.File;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
-import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
@@ -39,14 +39,14 @@ import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 public class ConfigurationManager {
 	private static final Logger log = LogManager.getLogger(ConfigurationManager.class); // Create a logger.
 
-	private static final Map<String,PageData> PAGE_DATA = new ConcurrentHashMap<>();
 	private static ConfigurationManager instance = null;
 	
 	private static String env = null;
 	
-	private static Properties appProps = new Properties();
+	// Values stored by steps belong to the scenario running on the current thread, and are cleared when it ends.
+	private static final ThreadLocal<Properties> appProps = ThreadLocal.withInitial(Properties::new);
 	
-	private static ConfigurationData sentinelConfigurations = null;
+	private static volatile ConfigurationData sentinelConfigurations = null;
 	
 	private static final String CONFIG_FILEPATH = "conf/sentinel.yml";
 	private static final String DEFAULT = "default";
@@ -190,20 +190,20 @@ public class ConfigurationManager {
 	/**
 	 * Returns the YAML config file path in the project for a given page object.
 	 * 
+	 * @see PageObjectIndex#getPath(String)
 	 * @param pageName String the name of the page object
 	 * @return File the OS path to the config file
 	 */
 	public static File getPageObjectConfigPath(String pageName)  {
-		String filename = pageName + ".yml";
-		File result = searchDirectory(new File("src/"), filename);
+		Path result = PageObjectIndex.getPath(pageName);
 
 		if (result == null) {
-			String errorMessage = SentinelStringUtils.format("Failed to locate the {} configuration file. Please ensure the file exists in the same directory as the page object.", filename);
+			String errorMessage = SentinelStringUtils.format("The {}.yml configuration file is inside a jar and has no path on the file system.", pageName);
 			log.error(errorMessage);
-			throw new FileNotFoundException(filename);
+			throw new FileNotFoundException(errorMessage);
 		}
 
-		return result;
+		return result.toFile();
 	}
 
 	/**
@@ -237,33 +237,16 @@ public class ConfigurationManager {
   
 	/**
 	 * Returns page data through yaml instructions to a config path in given pageName string. 
+	 * The page data is parsed once and kept until the file changes.
 	 * 
-	 * @see com.dougnoel.sentinel.configurations.ConfigurationManager#getPageObjectConfigPath(String)
+	 * @see com.dougnoel.sentinel.configurations.PageObjectIndex#getPageData(String)
 	 * @param pageName String the name of the page for which the data is retrieved
 	 * @return PageData the class for the data on desired page
 	 * @throws ConfigurationNotFoundException if a configuration option cannot be loaded
 	 * @throws PageObjectNotFoundException if the page object file could not be read
 	 */
 	private static PageData loadPageData(String pageName) {
-		PageData pageData = null;
-		try {
-			pageData = PageData.loadYaml(getPageObjectConfigPath(pageName));
-		} catch (java.nio.file.AccessDeniedException e) {
-			String errorMessage = SentinelStringUtils.format("Could not access the file {}.yml. Please ensure the file can be read by the current user and is not password protected.", pageName);
-			log.error(errorMessage);
-			throw new PageObjectNotFoundException(errorMessage, e);
-		} catch (java.io.IOException e) {
-			String errorMessage = SentinelStringUtils.format("Could not access the file {}.yml. Please ensure the file exists and the the pageObjectPackages value is set to include its package.", pageName);
-			log.error(errorMessage);
-			throw new PageObjectNotFoundException(errorMessage, e);
-		}
-		if (pageData == null) {
-			String errorMessage = SentinelStringUtils.format("The file {}.yml appears to contain no data. Please ensure the file is properly formatted", pageName);
-			log.error(errorMessage);
-			throw new PageObjectNotFoundException(errorMessage);
-		}
-		log.trace("Page data loaded: {}", pageName);
-		return pageData;
+		return PageObjectIndex.getPageData(pageName);
 	}
 
 	/**
@@ -337,23 +320,35 @@ public class ConfigurationManager {
 	}
 	
 	public static Map <String,String> getElement(String elementName, String pageName) {
-		return PAGE_DATA.computeIfAbsent(pageName, ConfigurationManager::loadPageData).getElement(elementName);
+		return loadPageData(pageName).getElement(elementName);
+	}
+
+	/**
+	 * Returns the elements of the given page and every page object it includes, flattened into one table.
+	 * 
+	 * @see PageObjectIndex#getElementTable(String)
+	 * @param pageName String the name of the page object
+	 * @return ElementTable the flattened element table
+	 */
+	public static ElementTable getElementTable(String pageName) {
+		return PageObjectIndex.getElementTable(pageName);
 	}
 
 	public static String[] getPageParts(String pageName) {
-		return PAGE_DATA.computeIfAbsent(pageName, ConfigurationManager::loadPageData).getPageParts();
+		return loadPageData(pageName).getPageParts();
 	}
 	
 	/**
 	 * Stores values in a property object for quick and dirty dependency injection.
 	 * Replaces space chars with '_' char, makes key all lowercase, and logs action.
+	 * Values are kept per thread and cleared when the scenario ends, so a scenario only sees the values it stored itself.
 	 * 
 	 * @param key String the key to set
 	 * @param value String the value to set
 	 */
 	public static void setValue(String key, String value) {
 		key = key.replaceAll("\\s+", "_").toLowerCase();
-		appProps.setProperty(key, value);
+		appProps.get().setProperty(key, value);
 		log.trace("Stored key/value pair: {}/{}", key, value);
 	}
 
@@ -366,11 +361,20 @@ public class ConfigurationManager {
 	 */
 	public static String getValue(String key) {
 		key = key.replaceAll("\\s+", "_").toLowerCase();
-		String value = appProps.getProperty(key);
+		String value = appProps.get().getProperty(key);
 		log.trace("Retrieved key/value pair: {}/{}", key, value);
 		return value;
 	}
 	
+	/**
+	 * Forgets every value stored by the scenario running on the current thread. Called when a scenario ends,
+	 * so that the next scenario to run on the same thread does not see them.
+	 */
+	public static void clearValues() {
+		appProps.remove();
+		log.trace("Stored values cleared.");
+	}
+
 	public static String getConfigurationNotFoundErrorMessage(String configurtaionValue) {
 		return SentinelStringUtils.format("No {} property set. This can be set in the sentinel.yml config file with a '{}=' property or on the command line with the switch '-D{}='.", configurtaionValue, configurtaionValue, configurtaionValue);
 	}
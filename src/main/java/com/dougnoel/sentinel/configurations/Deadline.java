@@ -0,0 +1,66 @@
+package com.dougnoel.sentinel.configurations;
+
+import java.time.Duration;
+
+/**
+ * A point in time by which something has to be done. Waits take the time they have left from a
+ * deadline instead of starting their own timeout, so waits inside other waits share one budget.
+ * <p>
+ * The TimeoutManager starts a deadline for each step. Deadlines are immutable; within() returns a
+ * new, shorter deadline for a wait that should give up sooner.
+ */
+public final class Deadline {
+	private final long endNanos;
+
+	private Deadline(long endNanos) {
+		this.endNanos = endNanos;
+	}
+
+	/**
+	 * Returns a deadline the duration passed from now.
+	 *
+	 * @param timeout Duration the time until the deadline
+	 * @return Deadline the new deadline
+	 */
+	public static Deadline after(Duration timeout) {
+		return new Deadline(System.nanoTime() + timeout.toNanos());
+	}
+
+	/**
+	 * Returns a deadline the duration passed from now, or this deadline if it is sooner.
+	 *
+	 * @param timeout Duration the longest a wait should take
+	 * @return Deadline the sooner of the two deadlines
+	 */
+	public Deadline within(Duration timeout) {
+		long end = System.nanoTime() + timeout.toNanos();
+		return end - endNanos < 0 ? new Deadline(end) : this;
+	}
+
+	/**
+	 * Returns the time left before the deadline, or zero if it has passed.
+	 *
+	 * @return Duration the time left
+	 */
+	public Duration remaining() {
+		return Duration.ofNanos(Math.max(0, endNanos - System.nanoTime()));
+	}
+
+	/**
+	 * Returns the number of milliseconds left before the deadline, or zero if it has passed.
+	 *
+	 * @return long the milliseconds left
+	 */
+	public long remainingMillis() {
+		return Math.max(0, (endNanos - System.nanoTime()) / 1_000_000);
+	}
+
+	/**
+	 * Returns true if the deadline has passed.
+	 *
+	 * @return boolean true if there is no time left
+	 */
+	public boolean isExpired() {
+		return endNanos - System.nanoTime() <= 0;
+	}
+}
@@ -0,0 +1,180 @@
+package com.dougnoel.sentinel.configurations;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.dougnoel.sentinel.exceptions.FileNotFoundException;
+import com.dougnoel.sentinel.pages.PageData;
+import com.dougnoel.sentinel.strings.SentinelStringUtils;
+
+/**
+ * All of the elements a page can use, including the elements of the page objects it includes, resolved
+ * once into a single table. Pages are searched in the same order as before: the page's own elements
+ * first, then each included page in the order listed, including the pages they include. The first
+ * definition of an element wins.
+ * <p>
+ * Building the table reports include cycles, includes that cannot be found, and elements that are
+ * hidden by another definition with the same name. The table is immutable; if one of its page object
+ * files changes, a new table is built.
+ */
+public class ElementTable {
+	private static final Logger log = LogManager.getLogger(ElementTable.class); // Create a logger.
+
+	private final String pageName;
+	private final Map<String, Map<String, String>> elements;
+	private final Map<String, String> sources;
+	private final Map<String, PageData> pages;
+	private final List<String> warnings;
+
+	private ElementTable(String pageName, Map<String, Map<String, String>> elements, Map<String, String> sources,
+			Map<String, PageData> pages, List<String> warnings) {
+		this.pageName = pageName;
+		this.elements = Collections.unmodifiableMap(elements);
+		this.sources = Collections.unmodifiableMap(sources);
+		this.pages = Collections.unmodifiableMap(pages);
+		this.warnings = Collections.unmodifiableList(warnings);
+	}
+
+	/**
+	 * Builds the element table for a page by walking its include list.
+	 *
+	 * @param pageName String the name of the page object
+	 * @param loader Function&lt;String, PageData&gt; returns the page data for a page name
+	 * @return ElementTable the flattened elements of the page and everything it includes
+	 * @throws FileNotFoundException if the page object itself cannot be found
+	 */
+	public static ElementTable build(String pageName, Function<String, PageData> loader) {
+		Builder builder = new Builder(pageName, loader);
+		builder.visit(pageName, loader.apply(pageName));
+		return new ElementTable(pageName, builder.elements, builder.sources, builder.pages, builder.warnings);
+	}
+
+	/**
+	 * Returns the data for an element, or null if neither the page nor anything it includes defines it.
+	 *
+	 * @param elementName String the name of the element as written in the page object
+	 * @return Map&lt;String, String&gt; the element's selectors and other settings
+	 */
+	public Map<String, String> getElement(String elementName) {
+		return elements.get(elementName);
+	}
+
+	/**
+	 * Returns the name of the page object the element was found in, or null if it was not found.
+	 *
+	 * @param elementName String the name of the element as written in the page object
+	 * @return String the name of the page object that defines the element
+	 */
+	public String getSource(String elementName) {
+		return sources.get(elementName);
+	}
+
+	/**
+	 * Returns every element in the table.
+	 *
+	 * @return Map&lt;String, Map&lt;String, String&gt;&gt; element names and their data
+	 */
+	public Map<String, Map<String, String>> getElements() {
+		return elements;
+	}
+
+	/**
+	 * Returns the page data of every page object used to build the table.
+	 *
+	 * @return Map&lt;String, PageData&gt; page names and the page data read for them
+	 */
+	public Map<String, PageData> getPages() {
+		return pages;
+	}
+
+	/**
+	 * Returns the problems found while building the table: include cycles, missing includes and shadowed elements.
+	 *
+	 * @return List&lt;String&gt; the warnings, empty if there were none
+	 */
+	public List<String> getWarnings() {
+		return warnings;
+	}
+
+	public String getPageName() {
+		return pageName;
+	}
+
+	/**
+	 * Walks the include graph depth first and collects the elements in the order they should win.
+	 */
+	private static final class Builder {
+		private final String pageName;
+		private final Function<String, PageData> loader;
+		private final Map<String, Map<String, String>> elements = new HashMap<>();
+		private final Map<String, String> sources = new HashMap<>();
+		private final Map<String, PageData> pages = new LinkedHashMap<>();
+		private final List<String> warnings = new ArrayList<>();
+		private final Deque<String> path = new ArrayDeque<>();
+
+		private Builder(String pageName, Function<String, PageData> loader) {
+			this.pageName = pageName;
+			this.loader = loader;
+		}
+
+		private void visit(String name, PageData pageData) {
+			pages.put(name, pageData);
+			path.addLast(name);
+			if (pageData.elements != null) {
+				pageData.elements.forEach((elementName, elementData) -> add(name, elementName, elementData));
+			}
+			for (String part : pageData.getPageParts()) {
+				String include = part.trim();
+				if (include.isEmpty()) {
+					continue;
+				}
+				if (path.contains(include)) {
+					warn("Include cycle in the {} page object: {} -> {}. {} will not be searched again.", pageName, String.join(" -> ", path), include, include);
+				} else if (!pages.containsKey(include)) {
+					PageData included = load(name, include);
+					if (included != null) {
+						visit(include, included);
+					}
+				}
+			}
+			path.removeLast();
+		}
+
+		private PageData load(String includedBy, String include) {
+			try {
+				return loader.apply(include);
+			} catch (FileNotFoundException e) {
+				warn("The {} page object includes {}, but {}.yml could not be found.", includedBy, include, include);
+				return null;
+			}
+		}
+
+		private void add(String page, String elementName, Map<String, String> elementData) {
+			String existing = sources.get(elementName);
+			if (existing == null) {
+				elements.put(elementName, elementData);
+				sources.put(elementName, page);
+			} else if (!existing.equals(page)) {
+				String message = SentinelStringUtils.format("The {} element in {}.yml is hidden by the one in {}.yml when used from the {} page.", elementName, page, existing, pageName);
+				warnings.add(message);
+				log.debug(message);
+			}
+		}
+
+		private void warn(String pattern, Object... arguments) {
+			String message = SentinelStringUtils.format(pattern, arguments);
+			warnings.add(message);
+			log.warn(message);
+		}
+	}
+}
@@ -0,0 +1,364 @@
+package com.dougnoel.sentinel.configurations;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.dougnoel.sentinel.exceptions.FileNotFoundException;
+import com.dougnoel.sentinel.exceptions.PageObjectNotFoundException;
+import com.dougnoel.sentinel.pages.PageData;
+import com.dougnoel.sentinel.strings.SentinelStringUtils;
+
+/**
+ * An index of every page object file, built once instead of searching the project every time a page
+ * is loaded. Page object files are found by walking the src directory, and then by scanning the
+ * classpath for the packages listed in the pageObjectPackages configuration property, so that page
+ * objects packaged in a jar can be used too. If two files have the same name, the first one found wins.
+ * <p>
+ * Parsed page data is kept with the file's last modified time. If a file changes while tests are running
+ * it is parsed again the next time it is used, and if a page object cannot be found the index is rebuilt
+ * in case the file was added or moved.
+ */
+public class PageObjectIndex {
+	private static final Logger log = LogManager.getLogger(PageObjectIndex.class); // Create a logger.
+
+	private static final String EXTENSION = ".yml";
+	private static final Path SOURCE_DIRECTORY = Paths.get("src");
+
+	// File name to location, replaced as a whole when the index is rebuilt.
+	private static volatile Map<String, Location> locations = null;
+	// Page name to the page data parsed from its file.
+	private static final Map<String, Entry> PAGES = new ConcurrentHashMap<>();
+	// Page name to the flattened elements of the page and its includes.
+	private static final Map<String, ElementTable> ELEMENT_TABLES = new ConcurrentHashMap<>();
+
+	private PageObjectIndex() {
+		// Exists to defeat instantiation.
+	}
+
+	/**
+	 * Returns the parsed page data for the page name passed, parsing the page object file only if it has not
+	 * been parsed yet or has changed since it was.
+	 *
+	 * @param pageName String the name of the page object
+	 * @return PageData the page data
+	 * @throws FileNotFoundException if no page object file exists for the page
+	 * @throws PageObjectNotFoundException if the page object file cannot be read or is empty
+	 */
+	public static PageData getPageData(String pageName) {
+		Entry entry = PAGES.get(pageName);
+		if (entry == null || !entry.isCurrent()) {
+			entry = PAGES.compute(pageName, (name, existing) -> existing != null && existing.isCurrent() ? existing : load(name));
+		}
+		return entry.pageData;
+	}
+
+	/**
+	 * Returns the elements of the page and every page it includes, flattened into one table. The table is
+	 * built once and built again only if one of the page object files it was built from changes.
+	 *
+	 * @param pageName String the name of the page object
+	 * @return ElementTable the flattened element table
+	 * @throws FileNotFoundException if no page object file exists for the page
+	 */
+	public static ElementTable getElementTable(String pageName) {
+		ElementTable table = ELEMENT_TABLES.get(pageName);
+		if (table == null || !isCurrent(table)) {
+			table = ElementTable.build(pageName, PageObjectIndex::getPageData);
+			ELEMENT_TABLES.put(pageName, table);
+		}
+		return table;
+	}
+
+	/**
+	 * Returns true if every page object the table was built from is unchanged.
+	 *
+	 * @param table ElementTable the table to check
+	 * @return boolean true if the table can still be used
+	 */
+	private static boolean isCurrent(ElementTable table) {
+		for (Map.Entry<String, PageData> page : table.getPages().entrySet()) {
+			Entry entry = PAGES.get(page.getKey());
+			if (entry == null || entry.pageData != page.getValue() || !entry.isCurrent()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the path of the page object file for the page name passed, if it is on the file system.
+	 *
+	 * @param pageName String the name of the page object
+	 * @return Path the path to the page object file, or null if it was found inside a jar
+	 * @throws FileNotFoundException if no page object file exists for the page
+	 */
+	public static Path getPath(String pageName) {
+		return locate(pageName).file;
+	}
+
+	/**
+	 * Returns the names of every page object in the index.
+	 *
+	 * @return Map&lt;String, URL&gt; the page names and the locations of their files
+	 */
+	public static Map<String, URL> getPageObjects() {
+		Map<String, URL> pageObjects = new HashMap<>();
+		getLocations().forEach((fileName, location) ->
+			pageObjects.put(StringUtils.removeEnd(fileName, EXTENSION), location.url));
+		return pageObjects;
+	}
+
+	/**
+	 * Forgets every page object file and all parsed page data. The index is built again the next time it is used.
+	 */
+	public static synchronized void clear() {
+		locations = null;
+		PAGES.clear();
+		ELEMENT_TABLES.clear();
+	}
+
+	private static Entry load(String pageName) {
+		Location location = locate(pageName);
+		long lastModified = location.lastModified();
+		PageData pageData;
+		try (InputStream input = location.url.openStream()) {
+			pageData = parse(pageName, input.readAllBytes(), location);
+		} catch (java.nio.file.AccessDeniedException e) {
+			String errorMessage = SentinelStringUtils.format("Could not access the file {}.yml. Please ensure the file can be read by the current user and is not password protected.", pageName);
+			log.error(errorMessage);
+			throw new PageObjectNotFoundException(errorMessage, e);
+		} catch (IOException e) {
+			String errorMessage = SentinelStringUtils.format("Could not access the file {}.yml. Please ensure the file exists and the the pageObjectPackages value is set to include its package.", pageName);
+			log.error(errorMessage);
+			throw new PageObjectNotFoundException(errorMessage, e);
+		}
+		if (pageData == null) {
+			String errorMessage = SentinelStringUtils.format("The file {}.yml appears to contain no data. Please ensure the file is properly formatted", pageName);
+			log.error(errorMessage);
+			throw new PageObjectNotFoundException(errorMessage);
+		}
+		log.trace("Page data loaded: {}", pageName);
+		return new Entry(location, lastModified, pageData);
+	}
+
+	/**
+	 * Returns the page data from the page object snapshot if the file has not changed since it was stored,
+	 * or parses the YAML and stores the result in the snapshot.
+	 *
+	 * @param pageName String the name of the page object
+	 * @param content byte[] the contents of the page object file
+	 * @param location Location where the file was read from, used in error messages
+	 * @return PageData the page data, or null if the file is empty
+	 * @throws IOException if the YAML cannot be read
+	 */
+	private static PageData parse(String pageName, byte[] content, Location location) throws IOException {
+		if (!PageObjectSnapshot.isEnabled()) {
+			return PageData.loadYaml(new ByteArrayInputStream(content), location.url);
+		}
+		byte[] hash = PageObjectSnapshot.hash(content);
+		PageData pageData = PageObjectSnapshot.get(pageName, hash);
+		if (pageData != null) {
+			log.trace("Page data for {} read from the page object snapshot", pageName);
+			return pageData;
+		}
+		pageData = PageData.loadYaml(new ByteArrayInputStream(content), location.url);
+		if (pageData != null) {
+			PageObjectSnapshot.put(pageName, hash, pageData);
+		}
+		return pageData;
+	}
+
+	/**
+	 * Returns the location of the page object file for the page name passed, rebuilding the index once if the
+	 * file is not in it or no longer exists.
+	 *
+	 * @param pageName String the name of the page object
+	 * @return Location the location of the page object file
+	 * @throws FileNotFoundException if no page object file exists for the page
+	 */
+	private static Location locate(String pageName) {
+		String fileName = pageName + EXTENSION;
+		Location location = getLocations().get(fileName);
+		if (location == null || !location.exists()) {
+			location = rebuild().get(fileName);
+		}
+		if (location == null) {
+			String errorMessage = SentinelStringUtils.format("Failed to locate the {} configuration file. Please ensure the file exists in the same directory as the page object.", fileName);
+			log.error(errorMessage);
+			throw new FileNotFoundException(fileName);
+		}
+		return location;
+	}
+
+	private static Map<String, Location> getLocations() {
+		Map<String, Location> current = locations;
+		return current == null ? rebuild() : current;
+	}
+
+	private static synchronized Map<String, Location> rebuild() {
+		long start = System.currentTimeMillis();
+		Map<String, Location> index = new HashMap<>();
+		if (Files.isDirectory(SOURCE_DIRECTORY)) {
+			walk(SOURCE_DIRECTORY, index);
+		}
+		String packages = null;
+		try {
+			packages = ConfigurationManager.getOptionalProperty("pageObjectPackages");
+		} catch (FileNotFoundException e) {
+			log.trace("No configuration file, so only {} is searched for page objects.", SOURCE_DIRECTORY);
+		}
+		if (packages != null) {
+			for (String packageName : packages.split(",")) {
+				scanClasspath(packageName.trim(), index);
+			}
+		}
+		locations = index;
+		log.debug("Indexed {} page object files in {} ms", index.size(), System.currentTimeMillis() - start);
+		return index;
+	}
+
+	/**
+	 * Adds every page object file under the directory passed to the index. Directories that cannot be read are skipped.
+	 *
+	 * @param directory Path the directory to walk
+	 * @param index Map&lt;String, Location&gt; the index being built
+	 */
+	private static void walk(Path directory, Map<String, Location> index) {
+		try {
+			Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+				@Override
+				public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+					String fileName = file.getFileName().toString();
+					if (attributes.isRegularFile() && fileName.endsWith(EXTENSION)) {
+						index.putIfAbsent(fileName, new Location(file.toAbsolutePath(), file.toUri().toURL()));
+					}
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult visitFileFailed(Path file, IOException e) {
+					log.warn("Skipping {} while looking for page objects: {}", file.toAbsolutePath(), e.getMessage());
+					return FileVisitResult.CONTINUE;
+				}
+			});
+		} catch (IOException e) {
+			log.warn("Could not search {} for page objects: {}", directory.toAbsolutePath(), e.getMessage());
+		}
+	}
+
+	/**
+	 * Adds every page object file in the package passed, in directories or jars on the classpath, to the index.
+	 *
+	 * @param packageName String the package to scan, such as pages or com.example.pages
+	 * @param index Map&lt;String, Location&gt; the index being built
+	 */
+	private static void scanClasspath(String packageName, Map<String, Location> index) {
+		String resourcePath = packageName.replace('.', '/');
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		try {
+			Enumeration<URL> resources = classLoader.getResources(resourcePath);
+			while (resources.hasMoreElements()) {
+				URL resource = resources.nextElement();
+				if ("file".equals(resource.getProtocol())) {
+					walk(Paths.get(resource.toURI()), index);
+				} else if ("jar".equals(resource.getProtocol())) {
+					scanJar(resource, resourcePath, classLoader, index);
+				}
+			}
+		} catch (IOException | URISyntaxException e) {
+			log.warn("Could not scan the classpath for page objects in {}: {}", packageName, e.getMessage());
+		}
+	}
+
+	private static void scanJar(URL resource, String resourcePath, ClassLoader classLoader, Map<String, Location> index) throws IOException {
+		URLConnection connection = resource.openConnection();
+		if (!(connection instanceof JarURLConnection)) {
+			return;
+		}
+		JarFile jar = ((JarURLConnection) connection).getJarFile();
+		Enumeration<JarEntry> entries = jar.entries();
+		while (entries.hasMoreElements()) {
+			String entryName = entries.nextElement().getName();
+			if (entryName.startsWith(resourcePath + "/") && entryName.endsWith(EXTENSION)) {
+				String fileName = entryName.substring(entryName.lastIndexOf('/') + 1);
+				URL url = classLoader.getResource(entryName);
+				if (url != null) {
+					index.putIfAbsent(fileName, new Location(null, url));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Where a page object file is. Files on the file system have a path so that changes can be noticed.
+	 */
+	private static final class Location {
+		private final Path file;
+		private final URL url;
+
+		private Location(Path file, URL url) {
+			this.file = file;
+			this.url = url;
+		}
+
+		private boolean exists() {
+			return file == null || Files.isRegularFile(file);
+		}
+
+		/**
+		 * Returns the last modified time of the file, 0 for files inside a jar, or -1 if the file cannot be read.
+		 *
+		 * @return long the last modified time in milliseconds
+		 */
+		private long lastModified() {
+			if (file == null) {
+				return 0;
+			}
+			try {
+				return Files.getLastModifiedTime(file).toMillis();
+			} catch (IOException e) {
+				return -1;
+			}
+		}
+	}
+
+	/**
+	 * Page data parsed from a file, and the last modified time of the file when it was parsed.
+	 */
+	private static final class Entry {
+		private final Location location;
+		private final long lastModified;
+		private final PageData pageData;
+
+		private Entry(Location location, long lastModified, PageData pageData) {
+			this.location = location;
+			this.lastModified = lastModified;
+			this.pageData = pageData;
+		}
+
+		private boolean isCurrent() {
+			return location.lastModified() == lastModified;
+		}
+	}
+}
@@ -0,0 +1,143 @@
+package com.dougnoel.sentinel.configurations;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.dougnoel.sentinel.elements.SelectorValidator;
+import com.dougnoel.sentinel.exceptions.SentinelException;
+import com.dougnoel.sentinel.pages.PageData;
+import com.dougnoel.sentinel.strings.SentinelStringUtils;
+
+/**
+ * Loads every page object before the first scenario runs, so that scenarios do not pay for parsing
+ * YAML inside a timed step, and so that bad selectors are reported once at the start of the run
+ * instead of when a step tries to use them.
+ * <p>
+ * Prewarming is turned on by setting the pageObjectPrewarm configuration property to true. Every page
+ * object found in the packages listed in pageObjectPackages (or every page object that can be found if
+ * that property is not set) is parsed, has its element table built, and has each of its selectors
+ * checked. The page objects are loaded in parallel on a fork join pool with one thread per processor.
+ */
+public class PageObjectPrewarmer {
+	private static final Logger log = LogManager.getLogger(PageObjectPrewarmer.class); // Create a logger.
+
+	private static final AtomicBoolean prewarmed = new AtomicBoolean(false);
+
+	private PageObjectPrewarmer() {
+		// Exists to defeat instantiation.
+	}
+
+	/**
+	 * Returns true if the pageObjectPrewarm configuration property is set to true.
+	 *
+	 * @return boolean true if page objects should be loaded before the first scenario
+	 */
+	public static boolean isEnabled() {
+		return "true".equalsIgnoreCase(ConfigurationManager.getOptionalProperty("pageObjectPrewarm"));
+	}
+
+	/**
+	 * Prewarms the page objects the first time it is called if prewarming is turned on. Later calls do nothing.
+	 */
+	public static void prewarmOnce() {
+		if (isEnabled() && prewarmed.compareAndSet(false, true)) {
+			prewarm();
+		}
+	}
+
+	/**
+	 * Parses every page object, builds its element table and checks its selectors. Each problem found is
+	 * logged as an error and returned.
+	 *
+	 * @return List&lt;String&gt; a description of every problem found, empty if there were none
+	 */
+	public static List<String> prewarm() {
+		long start = System.currentTimeMillis();
+		List<String> pageNames = getPageNames();
+		ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+		List<String> problems;
+		try {
+			problems = pool.submit(() -> pageNames.parallelStream()
+					.flatMap(pageName -> load(pageName).stream())
+					.collect(Collectors.toList())).get();
+		} catch (ExecutionException e) {
+			problems = Collections.singletonList(SentinelStringUtils.format("Prewarming page objects failed: {}", e.getCause().getMessage()));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			problems = Collections.singletonList("Prewarming page objects was interrupted.");
+		} finally {
+			pool.shutdown();
+		}
+		problems.forEach(log::error);
+		log.info("Prewarmed {} page objects in {} ms and found {} problems.", pageNames.size(), System.currentTimeMillis() - start, problems.size());
+		return problems;
+	}
+
+	/**
+	 * Returns the names of the page objects in the configured pageObjectPackages, or every page object in the
+	 * index if no packages are configured.
+	 *
+	 * @return List&lt;String&gt; the names of the page objects to load
+	 */
+	static List<String> getPageNames() {
+		Map<String, URL> pageObjects = PageObjectIndex.getPageObjects();
+		String packages = ConfigurationManager.getOptionalProperty("pageObjectPackages");
+		if (packages == null) {
+			return new ArrayList<>(pageObjects.keySet());
+		}
+		List<String> paths = new ArrayList<>();
+		for (String packageName : packages.split(",")) {
+			paths.add("/" + packageName.trim().replace('.', '/') + "/");
+		}
+		return pageObjects.entrySet().stream()
+				.filter(pageObject -> paths.stream().anyMatch(path -> pageObject.getValue().toString().contains(path)))
+				.map(Map.Entry::getKey)
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Loads one page object and checks the selectors of the elements it defines.
+	 *
+	 * @param pageName String the name of the page object
+	 * @return List&lt;String&gt; the problems found in the page object
+	 */
+	static List<String> load(String pageName) {
+		List<String> problems = new ArrayList<>();
+		PageData pageData;
+		try {
+			pageData = PageObjectIndex.getPageData(pageName);
+			PageObjectIndex.getElementTable(pageName);
+		} catch (SentinelException e) {
+			problems.add(SentinelStringUtils.format("The {} page object could not be loaded: {}", pageName, e.getMessage()));
+			return problems;
+		}
+		if (pageData.elements == null) {
+			return problems;
+		}
+		pageData.elements.forEach((elementName, selectors) -> {
+			if (selectors == null || selectors.keySet().stream().allMatch("elementType"::equalsIgnoreCase)) {
+				problems.add(SentinelStringUtils.format("The {} element in {}.yml has no selectors.", elementName, pageName));
+				return;
+			}
+			selectors.forEach((selectorType, selectorValue) -> {
+				if (!"elementType".equalsIgnoreCase(selectorType)) {
+					String problem = SelectorValidator.validate(selectorType, selectorValue);
+					if (problem != null) {
+						problems.add(SentinelStringUtils.format("Fix the {} element in {}.yml: {}", elementName, pageName, problem));
+					}
+				}
+			});
+		});
+		return problems;
+	}
+}
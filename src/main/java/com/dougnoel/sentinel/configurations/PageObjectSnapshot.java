@@ -0,0 +1,388 @@
+package com.dougnoel.sentinel.configurations;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.dougnoel.sentinel.pages.PageData;
+
+/**
+ * Keeps the page data parsed from every page object file in one binary file, so that the next run can
+ * read it instead of parsing the YAML again. Each page is stored with a SHA-256 hash of the file it was
+ * parsed from, and is only used if the file still has the same contents. Otherwise the YAML is parsed
+ * and the snapshot is updated.
+ * <p>
+ * The snapshot is written to target/sentinel/page-objects.bin when the JVM exits, and memory mapped the
+ * next time Sentinel runs. Only the list of pages is read at startup; each page is decoded the first
+ * time it is used. Setting the pageObjectSnapshot configuration property to false turns this off.
+ * <p>
+ * Some platforms, such as Windows, will not replace a file that is still mapped. When the snapshot
+ * cannot be replaced it is written to target/sentinel/page-objects.bin.next instead, and that file
+ * takes the place of the old one the next time Sentinel runs, before anything is mapped.
+ */
+public class PageObjectSnapshot {
+	private static final Logger log = LogManager.getLogger(PageObjectSnapshot.class); // Create a logger.
+
+	private static final Path SNAPSHOT_FILE = Paths.get("target/sentinel/page-objects.bin");
+	private static final Path NEXT_SNAPSHOT_FILE = Paths.get("target/sentinel/page-objects.bin.next");
+	private static final int MAGIC = 0x534E544C; // SNTL
+	private static final int VERSION = 1;
+	private static final int HASH_LENGTH = 32;
+
+	private static Map<String, Slot> slots = null;
+	private static volatile boolean changed = false;
+	private static volatile boolean persistent = true;
+
+	private PageObjectSnapshot() {
+		// Exists to defeat instantiation.
+	}
+
+	/**
+	 * Returns true unless the snapshot has been turned off by setting the pageObjectSnapshot configuration
+	 * property to false.
+	 *
+	 * @return boolean true if page data should be read from and written to the snapshot
+	 */
+	public static boolean isEnabled() {
+		return !"false".equalsIgnoreCase(ConfigurationManager.getOptionalProperty("pageObjectSnapshot"));
+	}
+
+	/**
+	 * Returns the SHA-256 hash of the contents of a page object file.
+	 *
+	 * @param content byte[] the contents of the file
+	 * @return byte[] the hash
+	 */
+	public static byte[] hash(byte[] content) {
+		try {
+			return MessageDigest.getInstance("SHA-256").digest(content);
+		} catch (NoSuchAlgorithmException e) {
+			// Every Java platform is required to support SHA-256.
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Returns the page data stored for the page, if it was parsed from a file with the same hash.
+	 *
+	 * @param pageName String the name of the page object
+	 * @param hash byte[] the hash of the page object file as it is now
+	 * @return PageData the stored page data, or null if there is none or the file has changed
+	 */
+	public static PageData get(String pageName, byte[] hash) {
+		Slot slot = getSlots().get(pageName);
+		if (slot == null || !Arrays.equals(slot.hash, hash)) {
+			return null;
+		}
+		try {
+			return decode(slot.data());
+		} catch (BufferUnderflowException | IllegalArgumentException e) {
+			log.warn("Could not read {} from the page object snapshot, parsing the YAML instead: {}", pageName, e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Stores page data parsed from a page object file, to be written to the snapshot when the JVM exits.
+	 *
+	 * @param pageName String the name of the page object
+	 * @param hash byte[] the hash of the page object file the data was parsed from
+	 * @param pageData PageData the parsed page data
+	 */
+	public static void put(String pageName, byte[] hash, PageData pageData) {
+		getSlots().put(pageName, new Slot(hash, ByteBuffer.wrap(encode(pageData))));
+		changed = true;
+	}
+
+	/**
+	 * Writes the snapshot to target/sentinel/page-objects.bin if any page has been added or changed since it
+	 * was loaded. This is called automatically when the JVM exits.
+	 */
+	public static synchronized void save() {
+		if (!changed || !persistent) {
+			return;
+		}
+		Map<String, Slot> sorted = new TreeMap<>(getSlots());
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream output = new DataOutputStream(bytes)) {
+			output.writeInt(MAGIC);
+			output.writeInt(VERSION);
+			output.writeInt(sorted.size());
+			for (Map.Entry<String, Slot> entry : sorted.entrySet()) {
+				ByteBuffer data = entry.getValue().data();
+				writeString(output, entry.getKey());
+				output.write(entry.getValue().hash);
+				output.writeInt(data.remaining());
+				byte[] raw = new byte[data.remaining()];
+				data.get(raw);
+				output.write(raw);
+			}
+		} catch (IOException e) {
+			log.warn("Could not build the page object snapshot: {}", e.getMessage());
+			return;
+		}
+		try {
+			Files.createDirectories(SNAPSHOT_FILE.getParent());
+			Path temporary = Files.createTempFile(SNAPSHOT_FILE.getParent(), "page-objects", ".tmp");
+			Files.write(temporary, bytes.toByteArray());
+			Path written = replace(temporary);
+			changed = false;
+			log.debug("Page object snapshot written to {}", written);
+		} catch (IOException e) {
+			log.warn("Could not write the page object snapshot to {}: {}", SNAPSHOT_FILE, e.getMessage());
+		}
+	}
+
+	/**
+	 * Moves a newly written snapshot into place. If the snapshot file cannot be replaced because it is still
+	 * mapped, the new snapshot is left next to it to be moved into place the next time it is loaded.
+	 *
+	 * @param temporary Path the newly written snapshot
+	 * @return Path where the snapshot was written
+	 * @throws IOException if the snapshot could not be moved to either place
+	 */
+	private static Path replace(Path temporary) throws IOException {
+		try {
+			Files.move(temporary, SNAPSHOT_FILE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			log.debug("Could not replace {}, which is still in use: {}", SNAPSHOT_FILE, e.getMessage());
+			Files.move(temporary, NEXT_SNAPSHOT_FILE, StandardCopyOption.REPLACE_EXISTING);
+			return NEXT_SNAPSHOT_FILE;
+		}
+		try {
+			// An older snapshot that could not be moved into place would otherwise replace this one.
+			Files.deleteIfExists(NEXT_SNAPSHOT_FILE);
+		} catch (IOException e) {
+			log.debug("Could not delete {}: {}", NEXT_SNAPSHOT_FILE, e.getMessage());
+		}
+		return SNAPSHOT_FILE;
+	}
+
+	/**
+	 * Replaces the stored pages with an empty set that is neither read from nor written to disk, so that
+	 * unit tests do not change the snapshot used by real runs. Calling it again empties the set.
+	 */
+	static synchronized void useTransientStore() {
+		slots = new ConcurrentHashMap<>();
+		persistent = false;
+		changed = false;
+	}
+
+	/**
+	 * Returns the pages in the snapshot, mapping the snapshot file the first time they are needed.
+	 *
+	 * @return Map&lt;String,Slot&gt; the stored pages by page name
+	 */
+	private static synchronized Map<String, Slot> getSlots() {
+		if (slots == null) {
+			slots = load();
+			Runtime.getRuntime().addShutdownHook(new Thread(PageObjectSnapshot::save));
+		}
+		return slots;
+	}
+
+	/**
+	 * Maps the snapshot written by a previous run and reads the list of pages in it. A snapshot that cannot be
+	 * read is ignored, and the page objects are parsed from their YAML files instead.
+	 *
+	 * @return Map&lt;String,Slot&gt; the stored pages by page name, or an empty map
+	 */
+	private static Map<String, Slot> load() {
+		Map<String, Slot> loadedSlots = new ConcurrentHashMap<>();
+		promoteNextSnapshot();
+		if (!Files.isReadable(SNAPSHOT_FILE)) {
+			return loadedSlots;
+		}
+		try (FileChannel channel = FileChannel.open(SNAPSHOT_FILE, StandardOpenOption.READ)) {
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+				log.debug("Ignoring {} because it was written by a different version of Sentinel.", SNAPSHOT_FILE);
+				return loadedSlots;
+			}
+			int count = buffer.getInt();
+			for (int i = 0; i < count; i++) {
+				String pageName = readString(buffer);
+				byte[] hash = new byte[HASH_LENGTH];
+				buffer.get(hash);
+				int length = buffer.getInt();
+				ByteBuffer data = buffer.slice();
+				data.limit(length);
+				buffer.position(buffer.position() + length);
+				loadedSlots.put(pageName, new Slot(hash, data));
+			}
+			log.debug("Page object snapshot with {} pages mapped from {}", count, SNAPSHOT_FILE);
+		} catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+			log.warn("Could not read the page object snapshot from {}, starting over: {}", SNAPSHOT_FILE, e.getMessage());
+			loadedSlots.clear();
+		}
+		return loadedSlots;
+	}
+
+	/**
+	 * Moves a snapshot that a previous run could not put in place over the old snapshot. If that fails, the
+	 * old snapshot is used; pages in it that have changed since are parsed again because their hashes differ.
+	 */
+	private static void promoteNextSnapshot() {
+		if (!Files.exists(NEXT_SNAPSHOT_FILE)) {
+			return;
+		}
+		try {
+			Files.move(NEXT_SNAPSHOT_FILE, SNAPSHOT_FILE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			log.debug("Could not move {} into place: {}", NEXT_SNAPSHOT_FILE, e.getMessage());
+		}
+	}
+
+	/**
+	 * Encodes page data as bytes. Map order is kept, because the order of an element's selectors matters.
+	 *
+	 * @param pageData PageData the page data to encode
+	 * @return byte[] the encoded page data
+	 */
+	static byte[] encode(PageData pageData) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream output = new DataOutputStream(bytes)) {
+			writeMap(output, pageData.urls);
+			output.writeInt(pageData.accounts == null ? -1 : pageData.accounts.size());
+			if (pageData.accounts != null) {
+				for (Map.Entry<String, Map<String, Map<String, String>>> environment : pageData.accounts.entrySet()) {
+					writeString(output, environment.getKey());
+					writeNestedMap(output, environment.getValue());
+				}
+			}
+			writeNestedMap(output, pageData.elements);
+			writeString(output, pageData.include);
+		} catch (IOException e) {
+			// Writing to a ByteArrayOutputStream cannot fail.
+			throw new IllegalStateException(e);
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Decodes page data encoded by encode().
+	 *
+	 * @param data ByteBuffer the encoded page data
+	 * @return PageData the decoded page data
+	 */
+	static PageData decode(ByteBuffer data) {
+		PageData pageData = new PageData();
+		pageData.urls = readMap(data);
+		int environments = data.getInt();
+		if (environments >= 0) {
+			pageData.accounts = new LinkedHashMap<>();
+			for (int i = 0; i < environments; i++) {
+				pageData.accounts.put(readString(data), readNestedMap(data));
+			}
+		}
+		pageData.elements = readNestedMap(data);
+		pageData.include = readString(data);
+		return pageData;
+	}
+
+	private static void writeString(DataOutputStream output, String value) throws IOException {
+		if (value == null) {
+			output.writeInt(-1);
+			return;
+		}
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+
+	private static void writeMap(DataOutputStream output, Map<String, String> map) throws IOException {
+		output.writeInt(map == null ? -1 : map.size());
+		if (map != null) {
+			for (Map.Entry<String, String> entry : map.entrySet()) {
+				writeString(output, entry.getKey());
+				writeString(output, entry.getValue());
+			}
+		}
+	}
+
+	private static void writeNestedMap(DataOutputStream output, Map<String, Map<String, String>> map) throws IOException {
+		output.writeInt(map == null ? -1 : map.size());
+		if (map != null) {
+			for (Map.Entry<String, Map<String, String>> entry : map.entrySet()) {
+				writeString(output, entry.getKey());
+				writeMap(output, entry.getValue());
+			}
+		}
+	}
+
+	private static String readString(ByteBuffer data) {
+		int length = data.getInt();
+		if (length < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		data.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static Map<String, String> readMap(ByteBuffer data) {
+		int size = data.getInt();
+		if (size < 0) {
+			return null;
+		}
+		Map<String, String> map = new LinkedHashMap<>();
+		for (int i = 0; i < size; i++) {
+			map.put(readString(data), readString(data));
+		}
+		return map;
+	}
+
+	private static Map<String, Map<String, String>> readNestedMap(ByteBuffer data) {
+		int size = data.getInt();
+		if (size < 0) {
+			return null;
+		}
+		Map<String, Map<String, String>> map = new LinkedHashMap<>();
+		for (int i = 0; i < size; i++) {
+			map.put(readString(data), readMap(data));
+		}
+		return map;
+	}
+
+	/**
+	 * A stored page: the hash of the file it was parsed from and its encoded data.
+	 */
+	private static final class Slot {
+		private final byte[] hash;
+		private final ByteBuffer data;
+
+		private Slot(byte[] hash, ByteBuffer data) {
+			this.hash = hash;
+			this.data = data;
+		}
+
+		/**
+		 * Returns a view of the encoded data with its own position, so threads can read it at the same time.
+		 *
+		 * @return ByteBuffer the encoded page data
+		 */
+		private ByteBuffer data() {
+			return data.duplicate();
+		}
+	}
+}
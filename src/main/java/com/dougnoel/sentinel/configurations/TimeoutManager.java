@@ -1,5 +1,6 @@
 package com.dougnoel.sentinel.configurations;
 
+import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.StringUtils;
@@ -11,6 +12,7 @@ public class TimeoutManager {
 
 	private static long timeout = createDefaultTimeout();
 	private static TimeUnit timeunit = createDefaultTimeUnit();
+	private static final ThreadLocal<Deadline> stepDeadline = new ThreadLocal<>();
 	
 	private TimeoutManager() {
 		
@@ -53,6 +55,46 @@ public class TimeoutManager {
 		return timeunit;
 	}
 	
+	/**
+	 * Returns the default timeout as a Duration, using both the timeout and timeunit properties.
+	 * 
+	 * @return java.time.Duration the default timeout
+	 */
+	public static Duration getDefaultDuration() {
+		return Duration.ofMillis(timeunit.toMillis(timeout));
+	}
+	
+	/**
+	 * Starts the time budget for a step. Every wait in the step takes its time from the deadline
+	 * returned, so a step that cannot find what it is waiting for fails after one default timeout
+	 * no matter how many waits it makes. This is called before each step by the BaseSteps hooks.
+	 * 
+	 * @return Deadline the deadline for the step
+	 */
+	public static Deadline startStep() {
+		Deadline deadline = Deadline.after(getDefaultDuration());
+		stepDeadline.set(deadline);
+		return deadline;
+	}
+	
+	/**
+	 * Ends the time budget for the current step.
+	 */
+	public static void endStep() {
+		stepDeadline.remove();
+	}
+	
+	/**
+	 * Returns the deadline of the step running on this thread. Outside of a step, a new deadline one
+	 * default timeout from now is returned.
+	 * 
+	 * @return Deadline the deadline waits should use
+	 */
+	public static Deadline getDeadline() {
+		Deadline deadline = stepDeadline.get();
+		return deadline == null ? Deadline.after(getDefaultDuration()) : deadline;
+	}
+	
 	/**
 	 * Sets the timeout property value by reading it from the config file or from the command line.
 	 * The default if the property is not set is 10.
@@ -0,0 +1,195 @@
+package com.dougnoel.sentinel.elements;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import com.dougnoel.sentinel.configurations.Deadline;
+import com.dougnoel.sentinel.configurations.TimeoutManager;
+import com.dougnoel.sentinel.exceptions.MalformedSelectorException;
+import com.dougnoel.sentinel.strings.SentinelStringUtils;
+
+/**
+ * Checks whether many elements exist, are visible, are enabled and have the expected text, all at
+ * once. When the driver can execute JavaScript, every element is looked at in one call to the
+ * browser. The check is repeated until every expectation is met or the time for the current step
+ * runs out, and then every expectation that was not met is reported together.
+ */
+public class ElementVerifier {
+	private static final Logger log = LogManager.getLogger(ElementVerifier.class); // Create a logger.
+
+	private static final long RETRY_INTERVAL = 50;
+
+	private ElementVerifier() {
+		// Exists to defeat instantiation.
+	}
+
+	/**
+	 * Checks the expectations passed and returns a description of each one that was not met.
+	 *
+	 * @param expectations List&lt;Expectation&gt; what to check for each element
+	 * @return List&lt;String&gt; the expectations that were not met, empty if they all were
+	 * @throws MalformedSelectorException if the browser rejects one of the selectors
+	 */
+	public static List<String> verify(List<Expectation> expectations) {
+		return verify(expectations, TimeoutManager.getDeadline());
+	}
+
+	/**
+	 * Checks the expectations passed until they are all met or the deadline passes, and returns a
+	 * description of each one that was not met. They are always checked at least once.
+	 *
+	 * @param expectations List&lt;Expectation&gt; what to check for each element
+	 * @param deadline Deadline the time by which every expectation must be met
+	 * @return List&lt;String&gt; the expectations that were not met, empty if they all were
+	 * @throws MalformedSelectorException if the browser rejects one of the selectors
+	 */
+	static List<String> verify(List<Expectation> expectations, Deadline deadline) {
+		if (expectations.isEmpty()) {
+			return new ArrayList<>();
+		}
+		WebDriver driver = expectations.get(0).element.driver;
+		List<String> failures;
+		while (true) {
+			List<State> states = inspect(driver, expectations);
+			failures = new ArrayList<>();
+			for (int i = 0; i < expectations.size(); i++) {
+				expectations.get(i).check(states.get(i), failures);
+			}
+			if (failures.isEmpty() || deadline.isExpired()) {
+				break;
+			}
+			TimeoutManager.wait(RETRY_INTERVAL / 1000.0);
+		}
+		log.trace("Verified {} elements with {} failures.", expectations.size(), failures.size());
+		return failures;
+	}
+
+	private static List<State> inspect(WebDriver driver, List<Expectation> expectations) {
+		List<State> states = new ArrayList<>();
+		if (!JavaScriptLocator.isSupported(driver)) {
+			expectations.forEach(expectation -> states.add(inspect(driver, expectation.element.getLocatorPlan())));
+			return states;
+		}
+		List<List<List<String>>> elements = new ArrayList<>();
+		expectations.forEach(expectation -> elements.add(JavaScriptLocator.toArguments(expectation.element.getLocatorPlan().getSelectors())));
+		List<?> results = (List<?>) JavaScriptLibrary.call(driver, "inspect", elements);
+		for (int i = 0; i < results.size(); i++) {
+			Map<?, ?> result = (Map<?, ?>) results.get(i);
+			if (result.containsKey("error")) {
+				Expectation expectation = expectations.get(i);
+				String errorMessage = SentinelStringUtils.format("One of the selectors {} for the {} element is not valid. {}", expectation.element.getLocatorPlan().getSelectors(), expectation.elementName, result.get("error"));
+				log.error(errorMessage);
+				throw new MalformedSelectorException(errorMessage);
+			}
+			states.add(new State(Boolean.TRUE.equals(result.get("exists")), Boolean.TRUE.equals(result.get("visible")),
+					Boolean.TRUE.equals(result.get("enabled")), (String) result.get("text")));
+		}
+		return states;
+	}
+
+	/**
+	 * Looks at one element with WebDriver, for drivers that cannot execute JavaScript.
+	 *
+	 * @param driver WebDriver the driver to use
+	 * @param plan LocatorPlan the element's selectors
+	 * @return State what was found
+	 */
+	private static State inspect(WebDriver driver, LocatorPlan plan) {
+		try {
+			WebElement first = null;
+			for (int i = 0; i < plan.size(); i++) {
+				for (WebElement element : driver.findElements(plan.getLocator(i))) {
+					if (element.isDisplayed()) {
+						return new State(true, true, element.isEnabled(), element.getText());
+					}
+					if (first == null) {
+						first = element;
+					}
+				}
+			}
+			return first == null ? new State(false, false, false, null) : new State(true, false, first.isEnabled(), first.getText());
+		} catch (StaleElementReferenceException e) {
+			return new State(false, false, false, null);
+		}
+	}
+
+	/**
+	 * What was found for one element.
+	 */
+	private static final class State {
+		private final boolean exists;
+		private final boolean visible;
+		private final boolean enabled;
+		private final String text;
+
+		private State(boolean exists, boolean visible, boolean enabled, String text) {
+			this.exists = exists;
+			this.visible = visible;
+			this.enabled = enabled;
+			this.text = text;
+		}
+	}
+
+	/**
+	 * What is expected of one element. Any expectation left null is not checked. Text is compared with
+	 * runs of whitespace treated as a single space.
+	 */
+	public static final class Expectation {
+		private final String elementName;
+		private final PageElement element;
+		private final Boolean exists;
+		private final Boolean visible;
+		private final Boolean enabled;
+		private final String text;
+		private final String containsText;
+
+		/**
+		 * Creates the expectations for one element.
+		 *
+		 * @param elementName String the name of the element as written in the step, used in failure messages
+		 * @param element PageElement the element
+		 * @param exists Boolean whether the element should be in the page, or null to not check
+		 * @param visible Boolean whether the element should be visible, or null to not check
+		 * @param enabled Boolean whether the element should be enabled, or null to not check
+		 * @param text String the exact text the element should have, or null to not check
+		 * @param containsText String text the element should contain, or null to not check
+		 */
+		public Expectation(String elementName, PageElement element, Boolean exists, Boolean visible, Boolean enabled, String text, String containsText) {
+			this.elementName = elementName;
+			this.element = element;
+			this.exists = exists;
+			this.visible = visible;
+			this.enabled = enabled;
+			this.text = text;
+			this.containsText = containsText;
+		}
+
+		private void check(State state, List<String> failures) {
+			if (exists != null && exists != state.exists) {
+				failures.add(SentinelStringUtils.format("Expected the {} element to {}exist.", elementName, exists ? "" : "not "));
+				return;
+			}
+			if (visible != null && visible != state.visible) {
+				failures.add(SentinelStringUtils.format("Expected the {} element to {}be visible.", elementName, visible ? "" : "not "));
+			}
+			if (enabled != null && (!state.exists || enabled != state.enabled)) {
+				failures.add(SentinelStringUtils.format("Expected the {} element to be {}.{}", elementName, enabled ? "enabled" : "disabled", state.exists ? "" : " It does not exist."));
+			}
+			String actual = StringUtils.normalizeSpace(state.text);
+			if (text != null && !StringUtils.equals(StringUtils.normalizeSpace(text), actual)) {
+				failures.add(SentinelStringUtils.format("Expected the {} element to have the text \"{}\". The element contained the text: \"{}\"", elementName, text, actual));
+			}
+			if (containsText != null && !StringUtils.contains(actual, StringUtils.normalizeSpace(containsText))) {
+				failures.add(SentinelStringUtils.format("Expected the {} element to contain the text \"{}\". The element contained the text: \"{}\"", elementName, containsText, actual));
+			}
+		}
+	}
+}
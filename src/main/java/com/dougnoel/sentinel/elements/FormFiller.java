@@ -0,0 +1,144 @@
+package com.dougnoel.sentinel.elements;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.Select;
+
+import com.dougnoel.sentinel.configurations.ConfigurationManager;
+import com.dougnoel.sentinel.enums.SelectorType;
+import com.dougnoel.sentinel.exceptions.SentinelException;
+import com.dougnoel.sentinel.strings.SentinelStringUtils;
+
+/**
+ * Fills in many fields of a form at once. Every field is looked up first, in one call to the browser
+ * when the driver can run JavaScript, and the values are then entered one field after another
+ * without looking anything up again. Fields that are not in the page yet when they are first looked
+ * for are waited for one at a time.
+ * <p>
+ * By default each value is typed into its field, so that the page sees the same key events it would
+ * from a user. Setting the formFill configuration property to javascript sets every value in one call
+ * to the browser instead and fires an input and a change event on each field, which is much faster
+ * but skips the key events. Either way, a select field has the option with the text (or failing that
+ * the value) given selected.
+ */
+public class FormFiller {
+	private static final Logger log = LogManager.getLogger(FormFiller.class); // Create a logger.
+
+	private FormFiller() {
+		// Exists to defeat instantiation.
+	}
+
+	/**
+	 * Returns true if the formFill configuration property is set to javascript.
+	 *
+	 * @return boolean true if values should be set with JavaScript instead of typed
+	 */
+	public static boolean useJavaScript() {
+		return "javascript".equalsIgnoreCase(ConfigurationManager.getOptionalProperty("formFill"));
+	}
+
+	/**
+	 * Enters each value into its field, in the order passed.
+	 *
+	 * @param fields Map&lt;PageElement,String&gt; each field and the value to enter in it
+	 * @throws SentinelException if an option to select is not in its select field
+	 */
+	public static void fill(Map<PageElement, String> fields) {
+		if (fields.isEmpty()) {
+			return;
+		}
+		List<PageElement> elements = new ArrayList<>(fields.keySet());
+		List<String> values = new ArrayList<>(fields.values());
+		WebDriver driver = elements.get(0).driver;
+		List<WebElement> webElements = resolve(driver, elements);
+		if (useJavaScript() && JavaScriptLocator.isSupported(driver)) {
+			List<?> errors;
+			try {
+				errors = (List<?>) JavaScriptLibrary.call(driver, "fill", webElements, values);
+			} catch (StaleElementReferenceException e) {
+				log.trace("A field went stale before it could be filled in, looking them up again.");
+				elements.forEach(PageElement::clearCachedElement);
+				errors = (List<?>) JavaScriptLibrary.call(driver, "fill", resolve(driver, elements), values);
+			}
+			for (int i = 0; i < errors.size(); i++) {
+				if (errors.get(i) != null) {
+					String errorMessage = SentinelStringUtils.format("The value \"{}\" could not be set in the {} field. {}", values.get(i), elements.get(i).getName(), errors.get(i));
+					log.error(errorMessage);
+					throw new SentinelException(errorMessage);
+				}
+			}
+		} else {
+			for (int i = 0; i < elements.size(); i++) {
+				try {
+					enter(elements.get(i), webElements.get(i), values.get(i));
+				} catch (StaleElementReferenceException e) {
+					log.trace("{} went stale, looking it up again.", elements.get(i).getName());
+					elements.get(i).clearCachedElement();
+					enter(elements.get(i), elements.get(i).toWebElement(), values.get(i));
+				}
+			}
+		}
+		log.trace("Filled in {} fields.", elements.size());
+	}
+
+	/**
+	 * Looks up every field, with one call to the browser for all of them when the driver can run
+	 * JavaScript. Fields that are not found that way are waited for with the normal lookup.
+	 *
+	 * @param driver WebDriver the driver to use
+	 * @param elements List&lt;PageElement&gt; the fields to look up
+	 * @return List&lt;WebElement&gt; the WebElement of each field, in the order passed
+	 */
+	private static List<WebElement> resolve(WebDriver driver, List<PageElement> elements) {
+		List<WebElement> webElements = new ArrayList<>();
+		if (!JavaScriptLocator.isSupported(driver)) {
+			elements.forEach(element -> webElements.add(element.toWebElement()));
+			return webElements;
+		}
+		List<Map<SelectorType, String>> selectors = new ArrayList<>();
+		elements.forEach(element -> selectors.add(element.getLocatorPlan().getSelectors()));
+		List<Map.Entry<SelectorType, WebElement>> matches = JavaScriptLocator.findEach(driver, selectors);
+		for (int i = 0; i < elements.size(); i++) {
+			Map.Entry<SelectorType, WebElement> match = matches.get(i);
+			webElements.add(match == null ? elements.get(i).toWebElement() : match.getValue());
+		}
+		return webElements;
+	}
+
+	/**
+	 * Types the value into a field, or selects it if the field is a select.
+	 *
+	 * @param element PageElement the field, used in error messages
+	 * @param webElement WebElement the field
+	 * @param value String the value to enter
+	 * @throws SentinelException if the option to select is not in the select field
+	 */
+	private static void enter(PageElement element, WebElement webElement, String value) {
+		if ("select".equalsIgnoreCase(webElement.getTagName())) {
+			Select select = new Select(webElement);
+			try {
+				select.selectByVisibleText(value);
+			} catch (NoSuchElementException e) {
+				try {
+					select.selectByValue(value);
+				} catch (NoSuchElementException e2) {
+					String errorMessage = SentinelStringUtils.format("The value \"{}\" could not be set in the {} field. There is no option {} to select.", value, element.getName(), value);
+					log.error(errorMessage);
+					throw new SentinelException(errorMessage, e2);
+				}
+			}
+			return;
+		}
+		webElement.click();
+		webElement.clear();
+		webElement.sendKeys(value);
+	}
+}
@@ -0,0 +1,286 @@
+package com.dougnoel.sentinel.elements;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * The JavaScript Sentinel runs in the browser, kept in the page as window.__sentinel so that it is
+ * sent and parsed once per document instead of with every call. Calls send only the name of a
+ * function and its arguments. If the library is not in the page, because the browser has navigated
+ * to a new document since it was loaded or an older version of it is there, it is loaded and the
+ * call is made again in the same script.
+ * <p>
+ * Functions in the library:
+ * <ul>
+ * <li>findFirst(selectors) - the first element matched by a list of [type, value] selectors</li>
+ * <li>findEach(elements) - findFirst for each of a list of selector lists</li>
+ * <li>waitForFirst(selectors, timeout, done) - waits with a MutationObserver for findFirst to match</li>
+ * <li>waitUntilAbsent(selectors, stable, timeout, done) - waits until no selector matches a visible element</li>
+ * <li>inspect(elements) - whether each element exists, is visible and is enabled, and its text</li>
+ * <li>click(element) - clicks the element</li>
+ * <li>setValue(element, value) - sets the value of the element and fires input and change events</li>
+ * <li>fill(elements, values) - setValue for each element, returning an error message or null for each</li>
+ * <li>whenReady(networkIdle, domQuiet, done) - waits until the page is ready</li>
+ * </ul>
+ * Change VERSION whenever the library changes, so pages that still have the old one load the new one.
+ */
+public class JavaScriptLibrary {
+	private static final Logger log = LogManager.getLogger(JavaScriptLibrary.class); // Create a logger.
+
+	static final int VERSION = 4;
+
+	/**
+	 * The script timeout to put back after an asynchronous call that needed a different one. Selenium 3
+	 * cannot read the script timeout, so it is put back to the W3C default drivers start with.
+	 */
+	public static final long DEFAULT_SCRIPT_TIMEOUT = 30000;
+
+	private static final String MISSING = "__sentinel_missing__";
+
+	private static final String LIBRARY =
+			"window.__sentinel = (function() {" +
+			"  var library = {version: " + VERSION + "};" +
+			"  function toArray(list) { return Array.prototype.slice.call(list); }" +
+			"  function findAll(type, value) {" +
+			"    switch (type) {" +
+			"    case 'CLASS': return toArray(document.getElementsByClassName(value));" +
+			"    case 'CSS': return toArray(document.querySelectorAll(value));" +
+			"    case 'ID': var element = document.getElementById(value); return element ? [element] : [];" +
+			"    case 'NAME': return toArray(document.getElementsByName(value));" +
+			"    case 'XPATH':" +
+			"      var result = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null), elements = [];" +
+			"      for (var i = 0; i < result.snapshotLength; i++) { elements.push(result.snapshotItem(i)); }" +
+			"      return elements;" +
+			"    case 'TEXT': case 'PARTIALTEXT':" +
+			"      return toArray(document.getElementsByTagName('a')).filter(function(link) {" +
+			"        var text = (link.innerText || link.textContent || '').trim();" +
+			"        return type === 'TEXT' ? text === value : text.indexOf(value) !== -1;" +
+			"      });" +
+			"    }" +
+			"    return [];" +
+			"  }" +
+			"  function findOne(type, value) {" +
+			"    switch (type) {" +
+			"    case 'CLASS': return document.getElementsByClassName(value)[0];" +
+			"    case 'CSS': return document.querySelector(value);" +
+			"    case 'ID': return document.getElementById(value);" +
+			"    case 'NAME': return document.getElementsByName(value)[0];" +
+			"    case 'XPATH': return document.evaluate(value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;" +
+			"    }" +
+			"    return findAll(type, value)[0];" +
+			"  }" +
+			"  function visible(element) {" +
+			"    if (!element || element.nodeType !== 1 || !element.getClientRects().length) { return false; }" +
+			"    var style = window.getComputedStyle(element);" +
+			"    return style.visibility !== 'hidden' && style.opacity !== '0';" +
+			"  }" +
+			"  function anyVisible(selectors) {" +
+			"    for (var i = 0; i < selectors.length; i++) {" +
+			"      if (findAll(selectors[i][0], selectors[i][1]).some(visible)) { return true; }" +
+			"    }" +
+			"    return false;" +
+			"  }" +
+			"  function assign(element, value) {" +
+			"    if (element.tagName === 'SELECT') {" +
+			"      var options = toArray(element.options), option = null;" +
+			"      for (var i = 0; i < options.length && !option; i++) { if ((options[i].text || '').trim() === value) { option = options[i]; } }" +
+			"      for (var j = 0; j < options.length && !option; j++) { if (options[j].value === value) { option = options[j]; } }" +
+			"      if (!option) { return 'There is no option ' + value + ' to select.'; }" +
+			"      option.selected = true;" +
+			"    } else {" +
+			"      var descriptor = Object.getOwnPropertyDescriptor(Object.getPrototypeOf(element), 'value');" +
+			"      if (descriptor && descriptor.set) { descriptor.set.call(element, value); } else { element.value = value; }" +
+			"    }" +
+			"    element.dispatchEvent(new Event('input', {bubbles: true}));" +
+			"    element.dispatchEvent(new Event('change', {bubbles: true}));" +
+			"    return null;" +
+			"  }" +
+			"  library.visible = visible;" +
+			"  library.findFirst = function(selectors) {" +
+			"    for (var i = 0; i < selectors.length; i++) {" +
+			"      var type = selectors[i][0], element = null;" +
+			"      try { element = findOne(type, selectors[i][1]); } catch (e) { return [null, type, e.message]; }" +
+			"      if (element && element.nodeType === 1) { return [element, type]; }" +
+			"    }" +
+			"    return null;" +
+			"  };" +
+			"  library.findEach = function(elements) {" +
+			"    return elements.map(function(selectors) { return library.findFirst(selectors); });" +
+			"  };" +
+			"  library.waitForFirst = function(selectors, timeout, done) {" +
+			"    var match = library.findFirst(selectors);" +
+			"    if (match) { done(match); return; }" +
+			"    var timer = null;" +
+			"    var observer = new MutationObserver(function() {" +
+			"      var found = library.findFirst(selectors);" +
+			"      if (found) { observer.disconnect(); clearTimeout(timer); done(found); }" +
+			"    });" +
+			"    observer.observe(document, {childList: true, subtree: true, attributes: true, characterData: true});" +
+			"    timer = setTimeout(function() { observer.disconnect(); done(null); }, timeout);" +
+			"  };" +
+			"  library.waitUntilAbsent = function(selectors, stable, timeout, done) {" +
+			"    var start = Date.now(), absentSince = null;" +
+			"    (function check() {" +
+			"      var now = Date.now();" +
+			"      try {" +
+			"        if (anyVisible(selectors)) { absentSince = null; } else if (absentSince === null) { absentSince = now; }" +
+			"      } catch (e) {" +
+			"        done(e.message);" +
+			"        return;" +
+			"      }" +
+			"      if (absentSince !== null && now - absentSince >= stable) { done(true); }" +
+			"      else if (now - start >= timeout) { done(false); }" +
+			"      else { setTimeout(check, 10); }" +
+			"    })();" +
+			"  };" +
+			"  library.inspect = function(elements) {" +
+			"    return elements.map(function(selectors) {" +
+			"      var first = null, shown = null;" +
+			"      for (var i = 0; i < selectors.length && !shown; i++) {" +
+			"        var found;" +
+			"        try { found = findAll(selectors[i][0], selectors[i][1]); } catch (e) { return {error: e.message}; }" +
+			"        for (var j = 0; j < found.length; j++) {" +
+			"          if (found[j].nodeType !== 1) { continue; }" +
+			"          if (!first) { first = found[j]; }" +
+			"          if (visible(found[j])) { shown = found[j]; break; }" +
+			"        }" +
+			"      }" +
+			"      var element = shown || first;" +
+			"      if (!element) { return {exists: false, visible: false, enabled: false, text: null}; }" +
+			"      return {exists: true, visible: !!shown, enabled: !(element.matches && element.matches(':disabled')), text: (element.innerText || element.textContent || '').trim()};" +
+			"    });" +
+			"  };" +
+			"  library.click = function(element) { element.click(); };" +
+			"  library.setValue = function(element, value) { return assign(element, value); };" +
+			"  library.fill = function(elements, values) {" +
+			"    return elements.map(function(element, i) {" +
+			"      try { return assign(element, values[i]); } catch (e) { return e.message; }" +
+			"    });" +
+			"  };" +
+			"  library.whenReady = function(networkIdle, domQuiet, done) {" +
+			"    var start = Date.now(), tracker = window.__sentinelNetwork, lastMutation = start, observer = null;" +
+			"    if (networkIdle > 0 && !tracker) {" +
+			"      tracker = window.__sentinelNetwork = {pending: 0, last: start};" +
+			"      var finished = function() { tracker.pending--; tracker.last = Date.now(); };" +
+			"      if (window.fetch) {" +
+			"        var originalFetch = window.fetch;" +
+			"        window.fetch = function() {" +
+			"          tracker.pending++; tracker.last = Date.now();" +
+			"          return originalFetch.apply(this, arguments).then(function(r) { finished(); return r; }, function(e) { finished(); throw e; });" +
+			"        };" +
+			"      }" +
+			"      var originalSend = XMLHttpRequest.prototype.send;" +
+			"      XMLHttpRequest.prototype.send = function() {" +
+			"        tracker.pending++; tracker.last = Date.now();" +
+			"        this.addEventListener('loadend', finished);" +
+			"        return originalSend.apply(this, arguments);" +
+			"      };" +
+			"      var origin = performance.timeOrigin || performance.timing.navigationStart;" +
+			"      var resourcesEnded = function(entries) {" +
+			"        for (var i = 0; i < entries.length; i++) { tracker.last = Math.max(tracker.last, origin + entries[i].responseEnd); }" +
+			"      };" +
+			"      if (window.PerformanceObserver) {" +
+			"        try {" +
+			"          new PerformanceObserver(function(list) { resourcesEnded(list.getEntries()); }).observe({type: 'resource', buffered: true});" +
+			"        } catch (e) {" +
+			"          new PerformanceObserver(function(list) { resourcesEnded(list.getEntries()); }).observe({entryTypes: ['resource']});" +
+			"          resourcesEnded(performance.getEntriesByType('resource'));" +
+			"        }" +
+			"      } else if (performance.getEntriesByType) {" +
+			"        resourcesEnded(performance.getEntriesByType('resource'));" +
+			"      }" +
+			"    }" +
+			"    if (domQuiet > 0 && window.MutationObserver) {" +
+			"      observer = new MutationObserver(function() { lastMutation = Date.now(); });" +
+			"      observer.observe(document, {childList: true, subtree: true, attributes: true, characterData: true});" +
+			"    }" +
+			"    (function check() {" +
+			"      var now = Date.now();" +
+			"      var loaded = document.readyState === 'complete';" +
+			"      var networkReady = networkIdle <= 0 || (tracker.pending <= 0 && now - Math.max(tracker.last, start) >= networkIdle);" +
+			"      var domReady = domQuiet <= 0 || now - lastMutation >= domQuiet;" +
+			"      if (loaded && networkReady && domReady) {" +
+			"        if (observer) { observer.disconnect(); }" +
+			"        done(true);" +
+			"      } else {" +
+			"        setTimeout(check, 10);" +
+			"      }" +
+			"    })();" +
+			"  };" +
+			"  return library;" +
+			"})();";
+
+	private static final String IS_LOADED = "window.__sentinel && window.__sentinel.version === " + VERSION;
+	private static final String LOAD = "if (!(" + IS_LOADED + ")) {" + LIBRARY + "}";
+	private static final String INVOKE = "var s = window.__sentinel; return s[arguments[0]].apply(s, arguments[1]);";
+	private static final String INVOKE_ASYNC = "var s = window.__sentinel; s[arguments[0]].apply(s, arguments[1].concat([arguments[arguments.length - 1]]));";
+
+	private static final String CALL = "if (!(" + IS_LOADED + ")) { return '" + MISSING + "'; }" + INVOKE;
+	private static final String LOAD_AND_CALL = LOAD + INVOKE;
+	private static final String CALL_ASYNC = "if (!(" + IS_LOADED + ")) { arguments[arguments.length - 1]('" + MISSING + "'); return; }" + INVOKE_ASYNC;
+	private static final String LOAD_AND_CALL_ASYNC = LOAD + INVOKE_ASYNC;
+
+	private JavaScriptLibrary() {
+		// Exists to defeat instantiation.
+	}
+
+	/**
+	 * Calls a function in the library and returns its result, loading the library into the page first
+	 * if it is not there.
+	 *
+	 * @param driver WebDriver a driver that implements JavascriptExecutor
+	 * @param function String the name of the function to call
+	 * @param arguments Object... the arguments to pass to the function
+	 * @return Object what the function returned, converted the same way as for executeScript
+	 */
+	public static Object call(WebDriver driver, String function, Object... arguments) {
+		JavascriptExecutor executor = (JavascriptExecutor) driver;
+		List<Object> functionArguments = Arrays.asList(arguments);
+		Object result = executor.executeScript(CALL, function, functionArguments);
+		if (MISSING.equals(result)) {
+			log.trace("Loading the Sentinel JavaScript library to call {}", function);
+			result = executor.executeScript(LOAD_AND_CALL, function, functionArguments);
+		}
+		return result;
+	}
+
+	/**
+	 * Calls an asynchronous function in the library and returns the value it passes to its callback,
+	 * loading the library into the page first if it is not there. The callback is added after the
+	 * arguments passed. The caller is responsible for setting the driver's script timeout.
+	 *
+	 * @param driver WebDriver a driver that implements JavascriptExecutor
+	 * @param function String the name of the function to call
+	 * @param arguments Object... the arguments to pass to the function, not including the callback
+	 * @return Object what the function passed to its callback, converted the same way as for executeAsyncScript
+	 */
+	public static Object callAsync(WebDriver driver, String function, Object... arguments) {
+		JavascriptExecutor executor = (JavascriptExecutor) driver;
+		List<Object> functionArguments = Arrays.asList(arguments);
+		Object result = executor.executeAsyncScript(CALL_ASYNC, function, functionArguments);
+		if (MISSING.equals(result)) {
+			log.trace("Loading the Sentinel JavaScript library to call {}", function);
+			result = executor.executeAsyncScript(LOAD_AND_CALL_ASYNC, function, functionArguments);
+		}
+		return result;
+	}
+
+	/**
+	 * Calls an asynchronous function in the library, sending the library along with the call. Use this
+	 * instead of callAsync() right after navigating, when the new document cannot have the library yet,
+	 * to save the roundtrip spent finding that out. A library already in the page is not loaded again.
+	 *
+	 * @param driver WebDriver a driver that implements JavascriptExecutor
+	 * @param function String the name of the function to call
+	 * @param arguments Object... the arguments to pass to the function, not including the callback
+	 * @return Object what the function passed to its callback, converted the same way as for executeAsyncScript
+	 */
+	public static Object loadAndCallAsync(WebDriver driver, String function, Object... arguments) {
+		return ((JavascriptExecutor) driver).executeAsyncScript(LOAD_AND_CALL_ASYNC, function, Arrays.asList(arguments));
+	}
+}
@@ -0,0 +1,169 @@
+package com.dougnoel.sentinel.elements;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import com.dougnoel.sentinel.enums.SelectorType;
+import com.dougnoel.sentinel.exceptions.MalformedSelectorException;
+import com.dougnoel.sentinel.strings.SentinelStringUtils;
+
+/**
+ * Finds elements by sending every selector for an element to the browser in a single
+ * executeScript call. The browser tries each selector in the order given and returns the
+ * first match along with the type of selector that found it. This replaces one WebDriver
+ * roundtrip (and one wait) per selector with one roundtrip for all of them.
+ * <p>
+ * Waiting for an element can also be done in the browser: a MutationObserver checks the selectors
+ * again every time the page changes, and answers as soon as one of them matches.
+ * <p>
+ * Checking that an element is gone works the same way: one asynchronous script watches every
+ * selector in the browser until none of them has matched a visible element for long enough.
+ * <p>
+ * The scripts themselves live in the JavaScriptLibrary, which is loaded into each page once.
+ */
+public class JavaScriptLocator {
+
+	// Extra time given to the driver so that the script reports its own timeout first.
+	private static final long SCRIPT_TIMEOUT_MARGIN = 1000;
+
+	private JavaScriptLocator() {
+		// Exists to defeat instantiation.
+	}
+
+	/**
+	 * Returns true if the driver can execute JavaScript and can therefore be used with this class.
+	 *
+	 * @param driver WebDriver the driver to check
+	 * @return boolean true if the driver can execute JavaScript, false if it cannot
+	 */
+	public static boolean isSupported(WebDriver driver) {
+		return driver instanceof JavascriptExecutor;
+	}
+
+	/**
+	 * Returns the first element found using the selectors passed, trying them in the order they
+	 * are iterated, along with the selector type that found it. All selectors are evaluated in one
+	 * roundtrip to the browser.
+	 *
+	 * @param driver WebDriver a driver that implements JavascriptExecutor
+	 * @param selectors Map&lt;SelectorType,String&gt; the selectors to try, in order
+	 * @return Map.Entry&lt;SelectorType,WebElement&gt; the winning selector type and the element found; null if nothing matched
+	 * @throws MalformedSelectorException if the browser rejects one of the selectors
+	 */
+	public static Map.Entry<SelectorType, WebElement> findFirst(WebDriver driver, Map<SelectorType, String> selectors) {
+		Object result = JavaScriptLibrary.call(driver, "findFirst", toArguments(selectors));
+		return toMatch(result, selectors);
+	}
+
+	/**
+	 * Returns the first element found for each list of selectors passed, as findFirst() would, looking
+	 * for all of them in one roundtrip to the browser.
+	 *
+	 * @param driver WebDriver a driver that implements JavascriptExecutor
+	 * @param elements List&lt;Map&lt;SelectorType,String&gt;&gt; the selectors of each element, in order
+	 * @return List&lt;Map.Entry&lt;SelectorType,WebElement&gt;&gt; the match for each element in the order passed; null for each element nothing matched
+	 * @throws MalformedSelectorException if the browser rejects one of the selectors
+	 */
+	public static List<Map.Entry<SelectorType, WebElement>> findEach(WebDriver driver, List<Map<SelectorType, String>> elements) {
+		List<List<List<String>>> arguments = new ArrayList<>();
+		elements.forEach(selectors -> arguments.add(toArguments(selectors)));
+		List<?> results = (List<?>) JavaScriptLibrary.call(driver, "findEach", arguments);
+		List<Map.Entry<SelectorType, WebElement>> matches = new ArrayList<>();
+		for (int i = 0; i < results.size(); i++) {
+			matches.add(toMatch(results.get(i), elements.get(i)));
+		}
+		return matches;
+	}
+
+	/**
+	 * Waits for the first element found using the selectors passed. The selectors are checked once,
+	 * and then again each time a MutationObserver sees the page change, so the element is returned as
+	 * soon as it is added to the page. The whole wait is one roundtrip to the browser.
+	 *
+	 * @param driver WebDriver a driver that implements JavascriptExecutor
+	 * @param selectors Map&lt;SelectorType,String&gt; the selectors to try, in order
+	 * @param timeoutMillis long how long, in milliseconds, to wait for the element
+	 * @return Map.Entry&lt;SelectorType,WebElement&gt; the winning selector type and the element found; null if nothing matched in time
+	 * @throws MalformedSelectorException if the browser rejects one of the selectors
+	 */
+	public static Map.Entry<SelectorType, WebElement> waitForFirst(WebDriver driver, Map<SelectorType, String> selectors, long timeoutMillis) {
+		Object result = callAsync(driver, timeoutMillis, "waitForFirst", toArguments(selectors), timeoutMillis);
+		return toMatch(result, selectors);
+	}
+
+	/**
+	 * Turns the result of the find first script into the selector type and element that matched.
+	 *
+	 * @param result Object what the script returned
+	 * @param selectors Map&lt;SelectorType,String&gt; the selectors sent to the script, used in error messages
+	 * @return Map.Entry&lt;SelectorType,WebElement&gt; the winning selector type and the element found; null if nothing matched
+	 * @throws MalformedSelectorException if the browser rejected one of the selectors
+	 */
+	private static Map.Entry<SelectorType, WebElement> toMatch(Object result, Map<SelectorType, String> selectors) {
+		if (!(result instanceof List)) {
+			return null;
+		}
+		List<?> match = (List<?>) result;
+		SelectorType selectorType = SelectorType.of((String) match.get(1));
+		if (match.get(0) == null) {
+			String errorMessage = SentinelStringUtils.format("{}: {} is not a valid selector. {}", selectorType, selectors.get(selectorType), match.get(2));
+			throw new MalformedSelectorException(errorMessage);
+		}
+		return new AbstractMap.SimpleImmutableEntry<>(selectorType, (WebElement) match.get(0));
+	}
+
+	/**
+	 * Waits until none of the selectors passed has matched a visible element for the stable time given.
+	 * Elements that are in the page but hidden count as absent. The whole wait runs in the browser
+	 * as one asynchronous script, so it costs one roundtrip no matter how many selectors there are.
+	 *
+	 * @param driver WebDriver a driver that implements JavascriptExecutor
+	 * @param selectors Map&lt;SelectorType,String&gt; the selectors to check
+	 * @param stableMillis long how long, in milliseconds, nothing may match before the element is considered gone
+	 * @param timeoutMillis long how long, in milliseconds, to wait for the element to go away
+	 * @return boolean true if nothing matched for the stable time, false if something still matched when the time ran out
+	 * @throws MalformedSelectorException if the browser rejects one of the selectors
+	 */
+	public static boolean waitUntilAbsent(WebDriver driver, Map<SelectorType, String> selectors, long stableMillis, long timeoutMillis) {
+		long timeout = Math.max(timeoutMillis, stableMillis);
+		Object result = callAsync(driver, timeout, "waitUntilAbsent", toArguments(selectors), stableMillis, timeout);
+		if (result instanceof String) {
+			String errorMessage = SentinelStringUtils.format("One of the selectors {} is not valid. {}", selectors, result);
+			throw new MalformedSelectorException(errorMessage);
+		}
+		return Boolean.TRUE.equals(result);
+	}
+
+	/**
+	 * Calls an asynchronous library function with the script timeout set a little past the time the
+	 * function is given, and puts the script timeout back afterwards.
+	 *
+	 * @param driver WebDriver a driver that implements JavascriptExecutor
+	 * @param timeoutMillis long how long, in milliseconds, the function may take
+	 * @param function String the name of the function to call
+	 * @param arguments Object... the arguments to pass to the function
+	 * @return Object what the function passed to its callback
+	 */
+	private static Object callAsync(WebDriver driver, long timeoutMillis, String function, Object... arguments) {
+		driver.manage().timeouts().setScriptTimeout(timeoutMillis + SCRIPT_TIMEOUT_MARGIN, TimeUnit.MILLISECONDS);
+		try {
+			return JavaScriptLibrary.callAsync(driver, function, arguments);
+		} finally {
+			driver.manage().timeouts().setScriptTimeout(JavaScriptLibrary.DEFAULT_SCRIPT_TIMEOUT, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	static List<List<String>> toArguments(Map<SelectorType, String> selectors) {
+		List<List<String>> arguments = new ArrayList<>();
+		selectors.forEach((type, value) -> arguments.add(Arrays.asList(type.name(), value)));
+		return arguments;
+	}
+}
@@ -0,0 +1,163 @@
+package com.dougnoel.sentinel.elements;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+
+import com.dougnoel.sentinel.enums.SelectorType;
+import com.dougnoel.sentinel.exceptions.MalformedSelectorException;
+import com.dougnoel.sentinel.exceptions.NoSuchSelectorException;
+import com.dougnoel.sentinel.exceptions.PageNotFoundException;
+import com.dougnoel.sentinel.pages.PageManager;
+import com.dougnoel.sentinel.strings.SentinelStringUtils;
+
+/**
+ * The selectors of a page element, checked and turned into Selenium locators once when the element is
+ * created. Looking for an element then only reuses the locators built here, so a bad selector fails as
+ * soon as the element is used instead of partway through its timeout, and the lookup loop does not
+ * build anything new on each attempt.
+ * <p>
+ * A plan is immutable. Changing the order in which selectors are tried returns a new plan that shares
+ * the locators of the old one.
+ */
+public final class LocatorPlan {
+	private static final Logger log = LogManager.getLogger(LocatorPlan.class); // Create a logger.
+
+	private final SelectorType[] types;
+	private final By[] locators;
+	private final Map<SelectorType, String> selectors;
+
+	private LocatorPlan(SelectorType[] types, By[] locators, Map<SelectorType, String> selectors) {
+		this.types = types;
+		this.locators = locators;
+		this.selectors = Collections.unmodifiableMap(selectors);
+	}
+
+	/**
+	 * Checks every selector passed and builds a locator for it.
+	 *
+	 * @param elementName String the name of the element the selectors belong to, used in error messages
+	 * @param selectors Map&lt;SelectorType,String&gt; the selectors in the order they should be tried
+	 * @return LocatorPlan the compiled selectors
+	 * @throws NoSuchSelectorException if a selector type cannot be used to find an element
+	 * @throws MalformedSelectorException if a selector is not valid
+	 */
+	public static LocatorPlan compile(String elementName, Map<SelectorType, String> selectors) {
+		SelectorType[] types = new SelectorType[selectors.size()];
+		By[] locators = new By[selectors.size()];
+		int i = 0;
+		for (Map.Entry<SelectorType, String> selector : selectors.entrySet()) {
+			types[i] = selector.getKey();
+			locators[i] = createLocator(elementName, selector.getKey(), selector.getValue());
+			i++;
+		}
+		return new LocatorPlan(types, locators, new LinkedHashMap<>(selectors));
+	}
+
+	/**
+	 * Returns a plan that tries the same selectors in the order passed, reusing the locators already built.
+	 *
+	 * @param orderedSelectors Map&lt;SelectorType,String&gt; the selectors of this plan in a new order
+	 * @return LocatorPlan a plan with the selectors in the new order
+	 */
+	public LocatorPlan reorder(Map<SelectorType, String> orderedSelectors) {
+		SelectorType[] orderedTypes = new SelectorType[types.length];
+		By[] orderedLocators = new By[types.length];
+		int i = 0;
+		for (SelectorType type : orderedSelectors.keySet()) {
+			orderedTypes[i] = type;
+			orderedLocators[i] = locators[indexOf(type)];
+			i++;
+		}
+		return new LocatorPlan(orderedTypes, orderedLocators, new LinkedHashMap<>(orderedSelectors));
+	}
+
+	/**
+	 * Returns the number of selectors in the plan.
+	 *
+	 * @return int the number of selectors
+	 */
+	public int size() {
+		return types.length;
+	}
+
+	/**
+	 * Returns the type of the selector at the position passed.
+	 *
+	 * @param index int the position of the selector in lookup order
+	 * @return SelectorType the type of the selector
+	 */
+	public SelectorType getType(int index) {
+		return types[index];
+	}
+
+	/**
+	 * Returns the locator built for the selector at the position passed.
+	 *
+	 * @param index int the position of the selector in lookup order
+	 * @return org.openqa.selenium.By the locator
+	 */
+	public By getLocator(int index) {
+		return locators[index];
+	}
+
+	/**
+	 * Returns the selectors of the plan in lookup order.
+	 *
+	 * @return Map&lt;SelectorType,String&gt; the selectors, which cannot be changed
+	 */
+	public Map<SelectorType, String> getSelectors() {
+		return selectors;
+	}
+
+	private int indexOf(SelectorType type) {
+		for (int i = 0; i < types.length; i++) {
+			if (types[i] == type) {
+				return i;
+			}
+		}
+		throw new IllegalArgumentException(SentinelStringUtils.format("{} is not one of the selectors in this plan.", type));
+	}
+
+	private static By createLocator(String elementName, SelectorType selectorType, String selectorValue) {
+		if (!SelectorValidator.canLocate(selectorType)) {
+			String errorMessage = SentinelStringUtils.format("{} is not a valid selector type. Please fix the element {} in the {}.yml page object.", selectorType, elementName, getPageName());
+			log.error(errorMessage);
+			throw new NoSuchSelectorException(errorMessage);
+		}
+		String problem = SelectorValidator.validate(selectorType, selectorValue);
+		if (problem != null) {
+			String errorMessage = SentinelStringUtils.format("{} Fix the element {} in the {}.yml page object.", problem, elementName, getPageName());
+			log.error(errorMessage);
+			throw new MalformedSelectorException(errorMessage);
+		}
+		switch (selectorType) {
+		case CLASS:
+			return By.className(selectorValue);
+		case CSS:
+			return By.cssSelector(selectorValue);
+		case ID:
+			return By.id(selectorValue);
+		case NAME:
+			return By.name(selectorValue);
+		case PARTIALTEXT:
+			return By.partialLinkText(selectorValue);
+		case TEXT:
+			return By.linkText(selectorValue);
+		default:
+			return By.xpath(selectorValue);
+		}
+	}
+
+	private static String getPageName() {
+		try {
+			return PageManager.getPage().getName();
+		} catch (PageNotFoundException e) {
+			return "current";
+		}
+	}
+}
@@ -5,11 +5,13 @@ import java.awt.Robot;
 import java.awt.event.KeyEvent;
 import java.time.Duration;
 import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+
+import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.openqa.selenium.By;
-import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
@@ -20,10 +22,11 @@ import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.FluentWait;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
+import com.dougnoel.sentinel.configurations.ConfigurationManager;
+import com.dougnoel.sentinel.configurations.Deadline;
 import com.dougnoel.sentinel.configurations.TimeoutManager;
 import com.dougnoel.sentinel.enums.SelectorType;
 import com.dougnoel.sentinel.exceptions.ElementNotVisibleException;
-import com.dougnoel.sentinel.exceptions.MalformedSelectorException;
 import com.dougnoel.sentinel.exceptions.NoSuchElementException;
 import com.dougnoel.sentinel.exceptions.NoSuchSelectorException;
 import com.dougnoel.sentinel.pages.PageManager;
@@ -67,6 +70,15 @@ public class PageElement {
 	private final String elementType;
 	protected WebDriver driver;
 
+	private final LocatorPlan locatorPlan;
+	private LocatorPlan locatorPlanInLookupOrder = null;
+	private WebElement cachedElement = null;
+	private long cachedNavigationCount = -1;
+
+	private static final String ELEMENT_LOOKUP = "elementLookup";
+	private static final String JAVASCRIPT_LOOKUP = "javascript";
+	private static final String OBSERVER_LOOKUP = "observer";
+
 	/**
 	 * The constructor for a WebElement to initialize how an element is going to be
 	 * found when it is worked on by the WebDriver class. Takes a reference to the
@@ -94,6 +106,7 @@ public class PageElement {
 		});
 		this.elementType = elementType;
 		name = elementName;
+		locatorPlan = LocatorPlan.compile(elementName, this.selectors);
 		this.driver = WebDriverFactory.getWebDriver();
 	}
 	
@@ -105,73 +118,223 @@ public class PageElement {
 		return name;
 	}
 
-	private WebElement getElementWithWait(final By locator, Duration timeout, Duration interval) {
+	/**
+	 * Returns the Selenium WebElement if it can be found on the current page.
+	 * Provides late binding for elements so that the driver does not look for them
+	 * until they are called, at which point the driver should be on the correct
+	 * page.
+	 * <p>
+	 * Once found, the WebElement is reused until the PageManager navigates or
+	 * the element is clicked, since either can replace the document. A handle
+	 * that goes stale in between is dropped by the methods in this class when
+	 * they catch a StaleElementReferenceException.
+	 * 
+	 * @return org.openqa.selenium.WebElement the Selenium WebElement object type that can be acted upon
+	 */
+	protected WebElement element() {
+		return element(TimeoutManager.getDeadline());
+	}
+
+	/**
+	 * Returns the Selenium WebElement if it can be found on the current page before the deadline passed.
+	 * 
+	 * @param deadline Deadline the time by which the element must be found
+	 * @return org.openqa.selenium.WebElement the Selenium WebElement object type that can be acted upon
+	 */
+	private WebElement element(Deadline deadline) {
+		long navigationCount = PageManager.getNavigationCount();
+		if (cachedElement == null || cachedNavigationCount != navigationCount) {
+			cachedElement = findElement(deadline);
+			cachedNavigationCount = navigationCount;
+		}
+		return cachedElement;
+	}
+
+	/**
+	 * Drops the cached WebElement so that the next call to element() looks it up again.
+	 */
+	protected void clearCachedElement() {
+		cachedElement = null;
+	}
+
+	/**
+	 * Runs the action passed against the WebElement, and if the cached WebElement has gone stale,
+	 * looks the element up again and retries the action once.
+	 * 
+	 * @param <T> the type returned by the action
+	 * @param action Function&lt;WebElement,T&gt; the action to perform
+	 * @return T the result of the action
+	 */
+	protected <T> T withElement(Function<WebElement, T> action) {
 		try {
-		FluentWait<WebDriver> wait = new FluentWait<WebDriver>(driver)
-			       .withTimeout(timeout)
-			       .pollingEvery(interval)
-			       .ignoring(org.openqa.selenium.NoSuchElementException.class);
+			return action.apply(element());
+		} catch (StaleElementReferenceException e) {
+			log.trace("{} {} went stale, looking it up again.", elementType, getName());
+			clearCachedElement();
+			return action.apply(element());
+		}
+	}
 
-		return wait.until(d -> driver.findElement(locator));
+	/**
+	 * Looks up the element on the current page using its selectors. Every selector is tried at least
+	 * once, even if the deadline has already passed.
+	 * 
+	 * @param deadline Deadline the time by which the element must be found
+	 * @return org.openqa.selenium.WebElement the Selenium WebElement found
+	 */
+	private WebElement findElement(Deadline deadline) {
+		if (useLookup(OBSERVER_LOOKUP)) {
+			return elementWithObserver(deadline);
 		}
-		catch (org.openqa.selenium.TimeoutException e) {
-			return null;
+		if (useLookup(JAVASCRIPT_LOOKUP)) {
+			return elementWithJavaScript(deadline);
 		}
+		LocatorPlan plan = getLocatorPlan();
+		log.trace("Attempting to find {} {} with {}", elementType, getName(), plan.getSelectors());
+		do {
+			for (int i = 0; i < plan.size(); i++) {
+				List<WebElement> found = driver.findElements(plan.getLocator(i));
+				if (!found.isEmpty()) {
+					recordSelectorWin(plan.getType(i));
+					return found.get(0);
+				}
+			}
+		} while (pause(10) && !deadline.isExpired());
+		throw new NoSuchElementException(getNoSuchElementErrorMessage());
 	}
-	
-	private By createByLocator(SelectorType selectorType, String selectorValue) {
+
+	/**
+	 * Sleeps between lookups.
+	 * 
+	 * @param milliseconds long the time to sleep
+	 * @return boolean true unless the thread was interrupted
+	 */
+	private static boolean pause(long milliseconds) {
 		try {
-			switch (selectorType) {
-			case CLASS:
-				return By.className(selectorValue);
-			case CSS:
-				return By.cssSelector(selectorValue);
-			case ID:
-				return By.id(selectorValue);
-			case NAME:
-				return By.name(selectorValue);
-			case PARTIALTEXT:
-				return By.partialLinkText(selectorValue);
-			case TEXT:
-				return By.linkText(selectorValue);
-			case XPATH:
-				return By.xpath(selectorValue);
-			default:
-				String errorMessage = SentinelStringUtils.format("{} is not a valid selector type. Please fix the element {} in the {}.yml page object.", selectorType, getName(), PageManager.getPage().getName());
-				
-				log.error(errorMessage);
-				throw new NoSuchSelectorException(errorMessage);
+			Thread.sleep(milliseconds);
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	/**
+	 * Returns true if elements should be looked up in the browser using the lookup passed. The
+	 * elementLookup configuration property can be set to javascript, to send all of an element's
+	 * selectors to the browser in one script call, or to observer, to also wait for the element in
+	 * the browser. Both are only possible when the driver can execute JavaScript.
+	 * 
+	 * @param lookup String the elementLookup value to check for
+	 * @return boolean true if the lookup passed should be used, false to use WebDriver lookups
+	 */
+	private boolean useLookup(String lookup) {
+		return lookup.equalsIgnoreCase(ConfigurationManager.getOptionalProperty(ELEMENT_LOOKUP))
+				&& JavaScriptLocator.isSupported(driver);
+	}
+
+	/**
+	 * Returns the Selenium WebElement by sending every selector to the browser at once and
+	 * taking the first match. Retries every 10 milliseconds until the deadline passes.
+	 * 
+	 * @see com.dougnoel.sentinel.elements.JavaScriptLocator#findFirst(WebDriver, Map)
+	 * @param deadline Deadline the time by which the element must be found
+	 * @return org.openqa.selenium.WebElement the first element found by any of the selectors
+	 */
+	private WebElement elementWithJavaScript(Deadline deadline) {
+		Map<SelectorType, String> orderedSelectors = getLocatorPlan().getSelectors();
+		log.trace("Attempting to find {} {} with JavaScript using {}", elementType, getName(), orderedSelectors);
+		try {
+			Map.Entry<SelectorType, WebElement> match = new FluentWait<WebDriver>(driver)
+				       .withTimeout(deadline.remaining())
+				       .pollingEvery(Duration.ofMillis(10))
+				       .until(d -> JavaScriptLocator.findFirst(d, orderedSelectors));
+			log.trace("Found {} {} with {}: {}", elementType, getName(), match.getKey(), selectors.get(match.getKey()));
+			recordSelectorWin(match.getKey());
+			return match.getValue();
+		}
+		catch (org.openqa.selenium.TimeoutException e) {
+			throw new NoSuchElementException(getNoSuchElementErrorMessage());
+		}
+	}
+
+	/**
+	 * Returns the Selenium WebElement by waiting for it in the browser. One asynchronous script
+	 * checks every selector and then watches the page with a MutationObserver, returning as soon as
+	 * one of them matches, so the wait costs one roundtrip instead of one per poll. If the page is
+	 * replaced while the script is waiting, the wait starts again on the new page.
+	 * 
+	 * @see com.dougnoel.sentinel.elements.JavaScriptLocator#waitForFirst(WebDriver, Map, long)
+	 * @param deadline Deadline the time by which the element must be found
+	 * @return org.openqa.selenium.WebElement the first element found by any of the selectors
+	 */
+	private WebElement elementWithObserver(Deadline deadline) {
+		Map<SelectorType, String> orderedSelectors = getLocatorPlan().getSelectors();
+		log.trace("Waiting for {} {} in the browser using {}", elementType, getName(), orderedSelectors);
+		Map.Entry<SelectorType, WebElement> match = null;
+		do {
+			try {
+				match = JavaScriptLocator.waitForFirst(driver, orderedSelectors, deadline.remainingMillis());
+			} catch (org.openqa.selenium.JavascriptException e) {
+				log.trace("Page changed while waiting for {} {}, waiting again: {}", elementType, getName(), e.getMessage());
+			} catch (org.openqa.selenium.ScriptTimeoutException e) {
+				break;
 			}
-		} catch (IllegalArgumentException e) {
-			String errorMessage = SentinelStringUtils.format("{}: {} is not a valid selector. Fix the element {} in the {}.yml page object.", selectorType, selectorValue, getName(), PageManager.getPage().getName());
-			log.error(errorMessage);
-			throw new MalformedSelectorException(errorMessage, e);
+		} while (match == null && !deadline.isExpired());
+		if (match == null) {
+			throw new NoSuchElementException(getNoSuchElementErrorMessage());
 		}
+		log.trace("Found {} {} with {}: {}", elementType, getName(), match.getKey(), selectors.get(match.getKey()));
+		recordSelectorWin(match.getKey());
+		return match.getValue();
 	}
-	
+
 	/**
-	 * Returns the Selenium WebElement if it can be found on the current page.
-	 * Provides late binding for elements so that the driver does not look for them
-	 * until they are called, at which point the driver should be on the correct
-	 * page.
+	 * Returns the compiled selectors in the order they should be tried. Selectors that have found this
+	 * element before are tried first, unless selector statistics have been turned off.
 	 * 
-	 * @return org.openqa.selenium.WebElement the Selenium WebElement object type that can be acted upon
+	 * @see com.dougnoel.sentinel.elements.SelectorStatistics#order(String, Map)
+	 * @return LocatorPlan the selectors in lookup order
 	 */
-	protected WebElement element() {
-		WebElement element = null;
-		long startTime = System.currentTimeMillis(); //fetch starting time
-		while((System.currentTimeMillis()-startTime) < TimeoutManager.getDefaultTimeout() * 1000) {
-    	    for (Map.Entry<SelectorType, String> selector : selectors.entrySet()) {
-    	    	log.trace("Attempting to find {} {} with {}: {}", elementType, getName(), selector.getKey(), selector.getValue());
-    	    	element = getElementWithWait(createByLocator(selector.getKey(), selector.getValue()), Duration.ofMillis(100), Duration.ofMillis(10));
-    	    	if (element != null) {
-    	    		return element;
-    	    	}
-    	    }
-        }
-		String errorMessage = SentinelStringUtils.format("{} element named \"{}\" does not exist or is not visible using the following values: {}. Assure you are on the page you think you are on, and that the element identifier you are using is correct.",
+	LocatorPlan getLocatorPlan() {
+		if (locatorPlan.size() < 2 || !SelectorStatistics.isEnabled()) {
+			return locatorPlan;
+		}
+		if (locatorPlanInLookupOrder == null) {
+			locatorPlanInLookupOrder = locatorPlan.reorder(SelectorStatistics.order(getSelectorStatisticsKey(), selectors));
+		}
+		return locatorPlanInLookupOrder;
+	}
+
+	/**
+	 * Records the selector that found this element, and resets the lookup order if it was not
+	 * the first selector tried.
+	 * 
+	 * @param selectorType SelectorType the type of selector that found the element
+	 */
+	private void recordSelectorWin(SelectorType selectorType) {
+		if (selectors.size() < 2 || !SelectorStatistics.isEnabled()) {
+			return;
+		}
+		SelectorStatistics.recordWin(getSelectorStatisticsKey(), selectorType);
+		if (locatorPlanInLookupOrder != null && locatorPlanInLookupOrder.getType(0) != selectorType) {
+			locatorPlanInLookupOrder = null;
+		}
+	}
+
+	/**
+	 * Returns the key under which selector statistics are stored for this element. The selectors
+	 * are part of the key so that changing them in the page object starts the statistics over.
+	 * 
+	 * @return String the element name followed by its selectors
+	 */
+	private String getSelectorStatisticsKey() {
+		return getName() + " " + selectors;
+	}
+
+	private String getNoSuchElementErrorMessage() {
+		return SentinelStringUtils.format("{} element named \"{}\" does not exist or is not visible using the following values: {}. Assure you are on the page you think you are on, and that the element identifier you are using is correct.",
 				elementType, getName(), selectors);
-		throw new NoSuchElementException(errorMessage);
 	}
 
 	/**
@@ -187,15 +350,16 @@ public class PageElement {
 	 * @return PageElement (for chaining)
 	 */
 	public PageElement sendKeys(String text) {
-		element().click();
-		element().clear();
-		element().sendKeys(text);
-		return this;
+		return withElement(element -> {
+			element.click();
+			element.clear();
+			element.sendKeys(text);
+			return this;
+		});
 	}
 
 	public PageElement javaScriptSendKeys(String text) {
-		JavascriptExecutor jse = (JavascriptExecutor) driver;
-		jse.executeScript("arguments[0].value='" + text + "';", element());
+		JavaScriptLibrary.call(driver, "setValue", element(), text);
 
 		return this;
 	}
@@ -204,21 +368,50 @@ public class PageElement {
 	 * Press keys with focus on a PageElement. This is useful when type() or
 	 * sendKeys isn't working due to a mask or hidden field being employed to grab
 	 * key press events and operate on each one.
+	 * <p>
+	 * The keys are sent to the browser as one WebDriver key sequence, so this works
+	 * in headless browsers. By default the keys are pressed one right after the
+	 * other. Set the keyPressDelay configuration property to a number of
+	 * milliseconds to have the browser pause that long after each key.
 	 * 
 	 * @param text
 	 *            String (keys to type)
 	 * @return PageElement (for chaining)
-	 * @throws AWTException if the key cannot be pressed.
 	 */
-	public PageElement pressKeys(String text) throws AWTException {
-		// Ensure that the element has focus.
-		if ("input".equals(element().getTagName())) {
-			element().sendKeys("");
+	public PageElement pressKeys(String text) {
+		focus();
+		long delay = getKeyPressDelay();
+		Actions actions = new Actions(driver);
+		if (delay <= 0) {
+			actions.sendKeys(text);
 		} else {
-			new Actions(driver).moveToElement(element()).perform();
+			for (char c : text.toCharArray()) {
+				actions.sendKeys(String.valueOf(c)).pause(Duration.ofMillis(delay));
+			}
 		}
+		actions.perform();
+
+		return this;
+	}
+
+	/**
+	 * Press keys with focus on a PageElement using the operating system instead of
+	 * the browser. Only use this when the keys need to reach something the browser
+	 * does not control, such as an operating system file dialog, because it needs a
+	 * display and cannot work in headless browsers. It waits a second before typing
+	 * so the dialog can take focus, and then waits keyPressDelay milliseconds after
+	 * each key is pressed and released.
+	 * 
+	 * @param text
+	 *            String (keys to type)
+	 * @return PageElement (for chaining)
+	 * @throws AWTException if the key cannot be pressed.
+	 */
+	public PageElement pressKeysWithRobot(String text) throws AWTException {
+		focus();
 
 		// Iterate through the string and press every key
+		int delay = (int) Math.min(getKeyPressDelay(), 60000); // The longest delay Robot allows.
 		Robot robot = new Robot();
 		robot.delay(1000);
 		char[] chars = text.toCharArray();
@@ -226,14 +419,33 @@ public class PageElement {
 		for (char c : chars) {
 			log.debug(c);
 			robot.keyPress(KeyEvent.getExtendedKeyCodeForChar(c));
-			robot.delay(1000);
+			robot.delay(delay);
 			robot.keyRelease(KeyEvent.getExtendedKeyCodeForChar(c));
-			robot.delay(1000);
+			robot.delay(delay);
 		}
 
 		return this;
 	}
 
+	/**
+	 * Ensures that the element has focus before keys are pressed.
+	 */
+	private void focus() {
+		withElement(element -> {
+			if ("input".equals(element.getTagName())) {
+				element.sendKeys("");
+			} else {
+				new Actions(driver).moveToElement(element).perform();
+			}
+			return this;
+		});
+	}
+
+	private static long getKeyPressDelay() {
+		String delay = ConfigurationManager.getOptionalProperty("keyPressDelay");
+		return StringUtils.isNumeric(delay) ? Long.parseLong(delay) : 0L;
+	}
+
 	/**
 	 * Click a PageElement.
 	 * <p>
@@ -250,24 +462,42 @@ public class PageElement {
 	 * @return PageElement (for chaining)
 	 */
 	public PageElement click() {
-		long waitTime = TimeoutManager.getDefaultTimeout();
+		Deadline deadline = TimeoutManager.getDeadline();
 		try {
-			new WebDriverWait(driver, waitTime).until(ExpectedConditions.elementToBeClickable(element())).click();
+			try {
+				waitUntil(deadline).until(ExpectedConditions.elementToBeClickable(element(deadline))).click();
+			} catch (StaleElementReferenceException e) {
+				log.trace("{} {} went stale, looking it up again.", elementType, getName());
+				clearCachedElement();
+				waitUntil(deadline).until(ExpectedConditions.elementToBeClickable(element(deadline))).click();
+			}
 		} catch (WebDriverException e) {
+			clearCachedElement();
 			try {
-				JavascriptExecutor executor = (JavascriptExecutor) driver;
-				executor.executeScript("arguments[0].click();", element());
+				JavaScriptLibrary.call(driver, "click", element(deadline));
 			} catch (Exception e2) {
 				String errorMessage = SentinelStringUtils.format(
-						"{} element named \"{}\" does not exist or is not visible using the following values: {}. It cannot be clicked. Make sure the element is visible on the page when you attempt to click it. Clicking was attempted once with a mouse click and once with the Return key. The total wait time was {} seconds.",
-								elementType, getName(), selectors, waitTime);
+						"{} element named \"{}\" does not exist or is not visible using the following values: {}. It cannot be clicked. Make sure the element is visible on the page when you attempt to click it. Clicking was attempted with a mouse click and then with JavaScript.",
+								elementType, getName(), selectors);
 				log.error(errorMessage);
 				throw new ElementNotVisibleException(errorMessage, e2);
 			}
 		}
+		// A click can submit a form or follow a link, so elements found before it may be gone.
+		PageManager.pageChanged();
 		return this;
 	}
 
+	/**
+	 * Returns a wait that gives up when the deadline passed is reached.
+	 * 
+	 * @param deadline Deadline the time by which the wait must finish
+	 * @return FluentWait&lt;WebDriver&gt; the wait
+	 */
+	private FluentWait<WebDriver> waitUntil(Deadline deadline) {
+		return new WebDriverWait(driver, 0).withTimeout(deadline.remaining());
+	}
+
 	/**
 	 * Clear a PageElement. Clears text in a text box. Un-checks check boxes. Clears
 	 * radio button choices.
@@ -280,8 +510,10 @@ public class PageElement {
 	 * @return PageElement (for chaining)
 	 */
 	public PageElement clear() {
-		element().clear();
-		return this;
+		return withElement(element -> {
+			element.clear();
+			return this;
+		});
 	}
 
 	/**
@@ -306,18 +538,21 @@ public class PageElement {
 	 * website that uses divs as popups. We resolve this by catching the exception
 	 * and retrying it 5 times. If it still fails, we catch the exception and return
 	 * a failure indicating the element wasn't found instead of throwing an
-	 * exception.
+	 * exception. The retries share one wait, which also ends when the time for
+	 * the current step runs out.
 	 * 
 	 * @param seconds int the number of seconds to wait before returning failure.
 	 * @return boolean true if the element is enabled within the number of seconds indicated; otherwise returns false.
 	 */
 	public boolean isEnabled(int seconds) {
+		Deadline deadline = TimeoutManager.getDeadline().within(Duration.ofSeconds(seconds));
 		int retries = 0;
 		while (true) {
 			try {
-				return new WebDriverWait(driver, seconds).until(ExpectedConditions.elementToBeClickable(element()))
+				return waitUntil(deadline).until(ExpectedConditions.elementToBeClickable(element(deadline)))
 						.isEnabled();
 			} catch (StaleElementReferenceException e) {
+				clearCachedElement();
 				if (retries < 5) {
 					retries++;
 				} else {
@@ -334,7 +569,7 @@ public class PageElement {
 	 * @return boolean true if the element is selected, false if it is not
 	 */
 	public boolean isSelected() {
-		return element().isSelected();
+		return withElement(WebElement::isSelected);
 	}
 
 	/**
@@ -359,18 +594,21 @@ public class PageElement {
 	 * website that uses divs as popups. We resolve this by catching the exception
 	 * and retrying it 5 times. If it still fails, we catch the exception and return
 	 * a failure indicating the element wasn't found instead of throwing an
-	 * exception.
+	 * exception. The retries share one wait, which also ends when the time for
+	 * the current step runs out.
 	 * 
 	 * @param seconds int the number of seconds to wait before returning failure.
 	 * @return boolean true if the element is displayed within the number of seconds indicated; otherwise returns false.
 	 */
 	public boolean isDisplayed(int seconds) {
+		Deadline deadline = TimeoutManager.getDeadline().within(Duration.ofSeconds(seconds));
 		int retries = 0;
 		while (true) {
 			try {
-				return new WebDriverWait(driver, seconds).until(ExpectedConditions.visibilityOf(element()))
+				return waitUntil(deadline).until(ExpectedConditions.visibilityOf(element(deadline)))
 						.isDisplayed();
 			} catch (StaleElementReferenceException e) {
+				clearCachedElement();
 				if (retries < 5) {
 					retries++;
 				} else {
@@ -383,23 +621,94 @@ public class PageElement {
 	}
 
 	/**
-	 * TODO: Test to make sure this to work with multiple selectors
-	 * Determines with 250 milliseconds (1/4 of a second) if an element is not present.
-	 * This should be used when you expect an element to not be present and do not want
-	 * to slow down your tests waiting for the normal timeout time to expire.
+	 * Returns true if the element is not on the page, or is on the page but hidden. Every selector
+	 * is checked, and none of them may match a visible element for the number of milliseconds set
+	 * in the absenceStableTime configuration property (100 by default) before the element counts as
+	 * gone. An element that is still visible is given the number of milliseconds set in the
+	 * absenceTimeout configuration property (1000 by default) to go away, or until the time for the
+	 * current step runs out if that is sooner, so that a check that fails comes back quickly.
+	 * <p>
+	 * When the driver can execute JavaScript, the whole check runs in the browser as one script.
+	 * 
+	 * @see com.dougnoel.sentinel.elements.JavaScriptLocator#waitUntilAbsent(WebDriver, Map, long, long)
 	 * @return boolean true if the element cannot be found, false if it is found
 	 */
 	public boolean doesNotExist() {
-	    for (Map.Entry<SelectorType, String> selector : selectors.entrySet()) {
-	    	log.trace("Expecting to not find with {} {}", selector.getKey(), selector.getValue());
-	    	WebElement element = getElementWithWait(createByLocator(selector.getKey(), selector.getValue()), Duration.ofMillis(100), Duration.ofMillis(10));
-	    	if (element == null || !(element.isDisplayed())) {
-	    		log.trace("doesNotExist() return result: true");
-	    		return true;
-	    	}
-	    }
-	    log.trace("doesNotExist() return result: false");
-	    return false;
+		long stableMillis = getAbsenceStableTime();
+		Deadline deadline = TimeoutManager.getDeadline().within(Duration.ofMillis(Math.max(getAbsenceTimeout(), stableMillis)));
+		log.trace("Expecting to not find {} {} with {}", elementType, getName(), locatorPlan.getSelectors());
+		boolean absent;
+		if (JavaScriptLocator.isSupported(driver)) {
+			absent = waitUntilAbsentWithJavaScript(deadline, stableMillis);
+		} else {
+			absent = waitUntilAbsent(deadline, stableMillis);
+		}
+		log.trace("doesNotExist() return result: {}", absent);
+		return absent;
+	}
+
+	private boolean waitUntilAbsentWithJavaScript(Deadline deadline, long stableMillis) {
+		while (true) {
+			try {
+				return JavaScriptLocator.waitUntilAbsent(driver, locatorPlan.getSelectors(), stableMillis, deadline.remainingMillis());
+			} catch (org.openqa.selenium.JavascriptException e) {
+				// The document was replaced while the script was running, so check the new one.
+				if (deadline.isExpired()) {
+					throw e;
+				}
+				log.trace("Page changed while waiting for {} {} to go away, checking again: {}", elementType, getName(), e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Checks every selector with WebDriver until none of them has matched a visible element for the
+	 * stable time. Used when the driver cannot execute JavaScript.
+	 * 
+	 * @param deadline Deadline the time by which the element must be gone
+	 * @param stableMillis long how long nothing may match before the element counts as gone
+	 * @return boolean true if the element is gone, false if it was still visible when the time ran out
+	 */
+	private boolean waitUntilAbsent(Deadline deadline, long stableMillis) {
+		long endTime = System.currentTimeMillis() + Math.max(deadline.remainingMillis(), stableMillis);
+		long absentSince = -1;
+		do {
+			long now = System.currentTimeMillis();
+			if (isVisibleWithAnySelector()) {
+				absentSince = -1;
+			} else if (absentSince < 0) {
+				absentSince = now;
+			}
+			if (absentSince >= 0 && now - absentSince >= stableMillis) {
+				return true;
+			}
+		} while (pause(10) && System.currentTimeMillis() < endTime);
+		return false;
+	}
+
+	private boolean isVisibleWithAnySelector() {
+		for (int i = 0; i < locatorPlan.size(); i++) {
+			for (WebElement element : driver.findElements(locatorPlan.getLocator(i))) {
+				try {
+					if (element.isDisplayed()) {
+						return true;
+					}
+				} catch (StaleElementReferenceException e) {
+					// An element that was removed while it was being checked is not visible.
+				}
+			}
+		}
+		return false;
+	}
+
+	private static long getAbsenceStableTime() {
+		String stableTime = ConfigurationManager.getOptionalProperty("absenceStableTime");
+		return StringUtils.isNumeric(stableTime) ? Long.parseLong(stableTime) : 100L;
+	}
+
+	private static long getAbsenceTimeout() {
+		String timeout = ConfigurationManager.getOptionalProperty("absenceTimeout");
+		return StringUtils.isNumeric(timeout) ? Long.parseLong(timeout) : 1000L;
 	}
 
 	/**
@@ -407,7 +716,7 @@ public class PageElement {
 	 * 
 	 * @return String The text value stored in the element.	 */
 	public String getText() {
-		return element().getText();
+		return withElement(WebElement::getText);
 	}
 
 	/**
@@ -431,7 +740,7 @@ public class PageElement {
 	 * @return boolean
 	 */
 	public boolean hasClass(String text) {
-		String classes = element().getAttribute("class");
+		String classes = withElement(element -> element.getAttribute("class"));
 		log.debug("Classes found on element {}: {}", this.getClass().getName(), classes);
 		for (String c : classes.split(" ")) {
 			if (c.equals(text)) {
@@ -456,7 +765,7 @@ public class PageElement {
 	 * @return boolean true if the element as an attribute equal to the value passed; otherwise returns false
 	 */
 	public boolean attributeEquals(String attribute, String value) {
-		String values = element().getAttribute(attribute);
+		String values = withElement(element -> element.getAttribute(attribute));
 		log.debug("Values found for attribute {} on element {}: {}", attribute, this.getClass().getName(),
 				values);
 		if (values.equals(value)) {
@@ -0,0 +1,178 @@
+package com.dougnoel.sentinel.elements;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.dougnoel.sentinel.configurations.ConfigurationManager;
+import com.dougnoel.sentinel.enums.SelectorType;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+/**
+ * Keeps track of which selector found each page object element, so that the selector that
+ * actually works on the application under test is tried first the next time. Page objects
+ * often list a fallback selector that no longer matches ahead of the one that does, and
+ * every lookup would otherwise spend time on the stale one first.
+ * <p>
+ * Selectors are ordered by when they last found the element, not by how often, so a selector
+ * that stops matching after a change to the application loses its place as soon as another
+ * selector finds the element once.
+ * <p>
+ * The statistics are written to target/sentinel/selector-statistics.yml when the JVM exits
+ * and read back the next time Sentinel runs. Setting the selectorStatistics configuration
+ * property to false turns this off, and selectors are always tried in their default order.
+ */
+public class SelectorStatistics {
+	private static final Logger log = LogManager.getLogger(SelectorStatistics.class); // Create a logger.
+
+	private static final File STATISTICS_FILE = new File("target/sentinel/selector-statistics.yml");
+	private static final ObjectMapper MAPPER = new ObjectMapper(new YAMLFactory())
+			.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+	// The number of the last win of each selector type of each element. Higher numbers are more recent.
+	private static Map<String, Map<SelectorType, Long>> wins = null;
+	private static final AtomicLong lastWin = new AtomicLong();
+	private static volatile boolean changed = false;
+	private static volatile boolean persistent = true;
+
+	private SelectorStatistics() {
+		// Exists to defeat instantiation.
+	}
+
+	/**
+	 * Returns true unless selector statistics have been turned off by setting the
+	 * selectorStatistics configuration property to false.
+	 *
+	 * @return boolean true if statistics should be recorded and used, false if not
+	 */
+	public static boolean isEnabled() {
+		return !"false".equalsIgnoreCase(ConfigurationManager.getOptionalProperty("selectorStatistics"));
+	}
+
+	/**
+	 * Returns the selectors passed re-ordered so that the selector that found the element most
+	 * recently comes first, followed by any others that have found it before, most recent first.
+	 * Selectors that have never won keep their original relative order after them.
+	 *
+	 * @param elementKey String the key identifying the element
+	 * @param selectors Map&lt;SelectorType,String&gt; the selectors in their default order
+	 * @return Map&lt;SelectorType,String&gt; a new map with the selectors in the order they should be tried
+	 */
+	public static Map<SelectorType, String> order(String elementKey, Map<SelectorType, String> selectors) {
+		Map<SelectorType, Long> elementWins = getWins().get(elementKey);
+		if (elementWins == null) {
+			return new LinkedHashMap<>(selectors);
+		}
+		List<SelectorType> order = new ArrayList<>(selectors.keySet());
+		// List.sort is stable, so selectors that have never won stay in their original order.
+		order.sort(Comparator.comparingLong((SelectorType type) -> elementWins.getOrDefault(type, 0L)).reversed());
+
+		Map<SelectorType, String> orderedSelectors = new LinkedHashMap<>();
+		order.forEach(type -> orderedSelectors.put(type, selectors.get(type)));
+		return orderedSelectors;
+	}
+
+	/**
+	 * Records that the given selector type found the element.
+	 *
+	 * @param elementKey String the key identifying the element
+	 * @param selectorType SelectorType the type of the selector that found the element
+	 */
+	public static void recordWin(String elementKey, SelectorType selectorType) {
+		getWins().computeIfAbsent(elementKey, key -> new ConcurrentHashMap<>())
+			.put(selectorType, lastWin.incrementAndGet());
+		changed = true;
+	}
+
+	/**
+	 * Writes the current statistics to target/sentinel/selector-statistics.yml if anything has
+	 * been recorded since they were loaded. This is called automatically when the JVM exits.
+	 */
+	public static synchronized void save() {
+		if (!changed || !persistent) {
+			return;
+		}
+		Map<String, Map<String, Long>> output = new TreeMap<>();
+		getWins().forEach((elementKey, elementWins) -> {
+			Map<String, Long> lastWins = new TreeMap<>();
+			elementWins.forEach((type, win) -> lastWins.put(type.name(), win));
+			output.put(elementKey, lastWins);
+		});
+		try {
+			STATISTICS_FILE.getParentFile().mkdirs();
+			MAPPER.writeValue(STATISTICS_FILE, output);
+			changed = false;
+			log.debug("Selector statistics written to {}", STATISTICS_FILE);
+		} catch (java.io.IOException e) {
+			log.warn("Could not write selector statistics to {}: {}", STATISTICS_FILE, e.getMessage());
+		}
+	}
+
+	/**
+	 * Replaces the statistics with an empty set that is neither read from nor written to disk, so
+	 * that unit tests do not change the statistics of real runs. Calling it again empties the set.
+	 */
+	static synchronized void useTransientStore() {
+		wins = new ConcurrentHashMap<>();
+		lastWin.set(0);
+		persistent = false;
+		changed = false;
+	}
+
+	/**
+	 * Returns the statistics, loading them from disk the first time they are needed.
+	 *
+	 * @return Map&lt;String,Map&lt;SelectorType,Long&gt;&gt; the number of the last win of each selector type of each element
+	 */
+	private static synchronized Map<String, Map<SelectorType, Long>> getWins() {
+		if (wins == null) {
+			wins = load();
+			Runtime.getRuntime().addShutdownHook(new Thread(SelectorStatistics::save));
+		}
+		return wins;
+	}
+
+	/**
+	 * Reads the statistics written by a previous run. Anything that cannot be read is ignored,
+	 * since the statistics only affect the order in which selectors are tried. Wins recorded
+	 * from now on are numbered after the last win read, so they count as more recent.
+	 *
+	 * @return Map&lt;String,Map&lt;SelectorType,Long&gt;&gt; the statistics read, or an empty map
+	 */
+	private static Map<String, Map<SelectorType, Long>> load() {
+		Map<String, Map<SelectorType, Long>> loadedWins = new ConcurrentHashMap<>();
+		if (!STATISTICS_FILE.canRead()) {
+			return loadedWins;
+		}
+		try {
+			Map<String, Map<String, Long>> input = MAPPER.readValue(STATISTICS_FILE, new TypeReference<Map<String, Map<String, Long>>>() {});
+			if (input != null) {
+				input.forEach((elementKey, lastWins) -> {
+					Map<SelectorType, Long> elementWins = new ConcurrentHashMap<>();
+					lastWins.forEach((type, win) -> {
+						elementWins.put(SelectorType.of(type), win);
+						lastWin.accumulateAndGet(win, Math::max);
+					});
+					loadedWins.put(elementKey, elementWins);
+				});
+			}
+			log.debug("Selector statistics loaded from {}", STATISTICS_FILE);
+		} catch (java.io.IOException | IllegalArgumentException e) {
+			log.warn("Could not read selector statistics from {}, starting over: {}", STATISTICS_FILE, e.getMessage());
+			loadedWins.clear();
+		}
+		return loadedWins;
+	}
+}
@@ -0,0 +1,146 @@
+package com.dougnoel.sentinel.elements;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.dougnoel.sentinel.enums.SelectorType;
+import com.dougnoel.sentinel.strings.SentinelStringUtils;
+
+/**
+ * Checks selectors from page objects without a browser, so that a bad selector can be reported when
+ * the page object is loaded instead of after waiting for an element that can never be found.
+ * <p>
+ * XPath selectors are compiled with the JDK's XPath 1.0 compiler, which is the same version of XPath
+ * browsers support. There is no CSS parser in the JDK, and browsers differ in which pseudo classes they
+ * support, so CSS selectors are only checked for mistakes every browser rejects: unbalanced brackets,
+ * parentheses and quotes, and a selector that starts or ends with a combinator or comma.
+ */
+public class SelectorValidator {
+	// XPath objects are not thread safe, so each thread gets its own.
+	private static final ThreadLocal<XPath> XPATH = ThreadLocal.withInitial(() -> XPathFactory.newInstance().newXPath());
+
+	private SelectorValidator() {
+		// Exists to defeat instantiation.
+	}
+
+	/**
+	 * Returns a description of what is wrong with the selector, or null if nothing is.
+	 *
+	 * @param selectorType String the selector type as written in the page object, such as xpath or css
+	 * @param selectorValue String the selector
+	 * @return String what is wrong with the selector, or null if it is valid
+	 */
+	public static String validate(String selectorType, String selectorValue) {
+		SelectorType type;
+		try {
+			type = SelectorType.of(selectorType);
+		} catch (IllegalArgumentException e) {
+			return SentinelStringUtils.format("{} is not a valid selector type.", selectorType);
+		}
+		return validate(type, selectorValue);
+	}
+
+	/**
+	 * Returns true if the selector type can be used to find an element. INDEX and VALUE are only used to
+	 * pick an option in a select element.
+	 *
+	 * @param selectorType SelectorType the type of selector
+	 * @return boolean true if elements can be found with this type of selector
+	 */
+	public static boolean canLocate(SelectorType selectorType) {
+		switch (selectorType) {
+		case CLASS:
+		case CSS:
+		case ID:
+		case NAME:
+		case PARTIALTEXT:
+		case TEXT:
+		case XPATH:
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * Returns a description of what is wrong with the selector, or null if nothing is.
+	 *
+	 * @param selectorType SelectorType the type of selector
+	 * @param selectorValue String the selector
+	 * @return String what is wrong with the selector, or null if it is valid
+	 */
+	public static String validate(SelectorType selectorType, String selectorValue) {
+		if (StringUtils.isBlank(selectorValue)) {
+			return SentinelStringUtils.format("The {} selector is empty.", selectorType);
+		}
+		if (!canLocate(selectorType)) {
+			return SentinelStringUtils.format("{} is not a selector type that can be used to find an element.", selectorType);
+		}
+		switch (selectorType) {
+		case XPATH:
+			return validateXPath(selectorValue);
+		case CSS:
+			return validateCss(selectorValue);
+		case CLASS:
+			return StringUtils.containsWhitespace(selectorValue.trim())
+					? SentinelStringUtils.format("The class selector {} contains more than one class name. Use a css selector instead.", selectorValue)
+					: null;
+		default:
+			return null;
+		}
+	}
+
+	private static String validateXPath(String xpath) {
+		try {
+			XPATH.get().compile(xpath);
+			return null;
+		} catch (XPathExpressionException e) {
+			Throwable cause = e.getCause() == null ? e : e.getCause();
+			return SentinelStringUtils.format("The xpath {} is not valid: {}", xpath, cause.getMessage());
+		}
+	}
+
+	private static String validateCss(String css) {
+		Deque<Character> open = new ArrayDeque<>();
+		char quote = 0;
+		boolean escaped = false;
+		for (int i = 0; i < css.length(); i++) {
+			char c = css.charAt(i);
+			if (escaped) {
+				escaped = false;
+			} else if (c == '\\') {
+				escaped = true;
+			} else if (quote != 0) {
+				if (c == quote) {
+					quote = 0;
+				}
+			} else if (c == '"' || c == '\'') {
+				quote = c;
+			} else if (c == '[' || c == '(') {
+				open.push(c);
+			} else if (c == ']' || c == ')') {
+				char expected = c == ']' ? '[' : '(';
+				if (open.isEmpty() || open.pop() != expected) {
+					return SentinelStringUtils.format("The css selector {} has an unmatched {} at position {}.", css, c, i);
+				}
+			}
+		}
+		if (quote != 0) {
+			return SentinelStringUtils.format("The css selector {} has an unclosed {} quote.", css, quote);
+		}
+		if (!open.isEmpty()) {
+			return SentinelStringUtils.format("The css selector {} has an unclosed {}.", css, open.peek());
+		}
+		String trimmed = css.trim();
+		if (StringUtils.startsWithAny(trimmed, ",", ">", "+", "~") || StringUtils.endsWithAny(trimmed, ",", ">", "+", "~")) {
+			return SentinelStringUtils.format("The css selector {} starts or ends with a combinator or comma.", css);
+		}
+		return null;
+	}
+}
@@ -0,0 +1,83 @@
+package com.dougnoel.sentinel.elements.tables;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds duplicate values in table data. Exact duplicates are found by hashing every value once,
+ * so checking a column or a combination of columns takes linear time no matter how many rows the
+ * table has. The older substring matching, where a value counts as a duplicate of every value that
+ * contains it, is available through findPartialDuplicates().
+ */
+public class DuplicateFinder {
+
+	private DuplicateFinder() {
+		// Exists to defeat instantiation.
+	}
+
+	/**
+	 * Returns every value that appears more than once in the list passed, mapped to the indexes
+	 * at which it appears. Values are compared with equals(), so for composite keys pass a List
+	 * of the cell values from each row.
+	 *
+	 * @param <K> the type of the values
+	 * @param values List&lt;K&gt; the values to check
+	 * @return Map&lt;K,List&lt;Integer&gt;&gt; each duplicated value and the indexes where it appears, in the order the values were first seen; empty if all values are unique
+	 */
+	public static <K> Map<K, List<Integer>> findDuplicates(List<K> values) {
+		Map<K, List<Integer>> duplicates = new LinkedHashMap<>();
+		indexValues(values).forEach((value, indexes) -> {
+			if (indexes.size() > 1) {
+				duplicates.put(value, indexes);
+			}
+		});
+		return duplicates;
+	}
+
+	/**
+	 * Returns every value that is contained in at least one other value in the list passed, mapped
+	 * to the indexes of the value itself and of every value that contains it. For example, "Smith"
+	 * and "Smithson" are reported as a duplicate group for "Smith". Identical values are always
+	 * duplicates of each other.
+	 * <p>
+	 * Exact duplicates are grouped by hash first, so only distinct values are compared with each other.
+	 *
+	 * @param values List&lt;String&gt; the values to check
+	 * @return Map&lt;String,List&lt;Integer&gt;&gt; each duplicated value and the indexes of the values that contain it, in the order the values were first seen; empty if no value contains another
+	 */
+	public static Map<String, List<Integer>> findPartialDuplicates(List<String> values) {
+		Map<String, List<Integer>> indexedValues = indexValues(values);
+		Map<String, List<Integer>> duplicates = new LinkedHashMap<>();
+		indexedValues.forEach((value, indexes) -> {
+			List<Integer> group = new ArrayList<>(indexes);
+			indexedValues.forEach((otherValue, otherIndexes) -> {
+				if (otherValue.length() > value.length() && otherValue.contains(value)) {
+					group.addAll(otherIndexes);
+				}
+			});
+			if (group.size() > 1) {
+				Collections.sort(group);
+				duplicates.put(value, group);
+			}
+		});
+		return duplicates;
+	}
+
+	/**
+	 * Returns each distinct value mapped to the indexes at which it appears.
+	 *
+	 * @param <K> the type of the values
+	 * @param values List&lt;K&gt; the values to index
+	 * @return Map&lt;K,List&lt;Integer&gt;&gt; the indexes of each distinct value, in the order the values were first seen
+	 */
+	private static <K> Map<K, List<Integer>> indexValues(List<K> values) {
+		Map<K, List<Integer>> indexedValues = new LinkedHashMap<>();
+		for (int i = 0; i < values.size(); i++) {
+			indexedValues.computeIfAbsent(values.get(i), value -> new ArrayList<>(2)).add(i);
+		}
+		return indexedValues;
+	}
+}
@@ -29,14 +29,14 @@ public class NGXDataTable extends Table {
 	}
 	
 	/**
-	 * Returns number of row elements from getOrCreateRowElements
+	 * Returns number of row elements in the table.
 	 * 
-	 * @see com.dougnoel.sentinel.elements.tables.Table#getOrCreateRowElements()
+	 * @see com.dougnoel.sentinel.elements.tables.Table#countRows()
 	 * @return int the number of row elements
 	 */
 	@Override
 	public int getNumberOfRows() {
-		final int numberOfRows = getOrCreateRowElements().size();
+		final int numberOfRows = countRows();
 		log.trace("Number of rows found: {}", numberOfRows);
 		return numberOfRows;
 	}
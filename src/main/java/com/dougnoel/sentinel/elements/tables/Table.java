@@ -1,7 +1,8 @@
 package com.dougnoel.sentinel.elements.tables;
 
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -9,13 +10,18 @@ import java.util.Map;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
 
+import com.dougnoel.sentinel.configurations.ConfigurationManager;
 import com.dougnoel.sentinel.elements.PageElement;
 import com.dougnoel.sentinel.exceptions.ElementNotFoundException;
 import com.dougnoel.sentinel.exceptions.NoSuchColumnException;
-import com.dougnoel.sentinel.strings.AlphanumComparator;
+import com.dougnoel.sentinel.strings.AlphanumKey;
 import com.dougnoel.sentinel.strings.SentinelStringUtils;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
  * Implements a Table WebElement. contains functionality for counting values, finding values inside a table, and other
@@ -37,6 +43,36 @@ public class Table extends PageElement {
 	protected String tableCellDataTag = "td";
 	protected String tableDataCellLocator = "//" + tableCellDataTag;
 	protected String tableSiblingCellLocator = "//..//*";
+
+	private static final ObjectMapper SNAPSHOT_MAPPER = new ObjectMapper()
+			.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+	// Reads the text of every header and every cell in the table and returns it as one JSON string.
+	// innerText falls back to textContent for elements that are not rendered (they have no client rects),
+	// so those are read as empty instead, the same as getText() reads them.
+	private static final String SNAPSHOT_SCRIPT =
+			"var table = arguments[0], headerTag = arguments[1], rowTag = arguments[2], cellTag = arguments[3];" +
+			"function text(element) {" +
+			"  if (element.getClientRects().length === 0) { return ''; }" +
+			"  return (element.innerText || '').replace(/\\u00a0/g, ' ').trim();" +
+			"}" +
+			"var headers = [], rows = [];" +
+			"var headerElements = table.getElementsByTagName(headerTag);" +
+			"for (var i = 0; i < headerElements.length; i++) { headers.push(text(headerElements[i])); }" +
+			"var rowElements = table.getElementsByTagName(rowTag);" +
+			"for (var r = 0; r < rowElements.length; r++) {" +
+			"  var cells = [], cellElements = rowElements[r].getElementsByTagName(cellTag);" +
+			"  for (var c = 0; c < cellElements.length; c++) { cells.push(text(cellElements[c])); }" +
+			"  rows.push(cells);" +
+			"}" +
+			"return JSON.stringify({headers: headers, rows: rows});";
+
+	/**
+	 * The text of a whole table as returned by SNAPSHOT_SCRIPT.
+	 */
+	private static class TableSnapshot {
+		public List<String> headers = new ArrayList<>();
+		public List<ArrayList<String>> rows = new ArrayList<>();
+	}
 	
 	/**
 	 * Creates a table object to manipulate. When used the table object finds and creates rows and columns and stores them. 
@@ -69,6 +105,7 @@ public class Table extends PageElement {
 		if (columns != null) {
 			columns.clear();
 		}
+		clearCachedElement();
 	}
 
 	/**
@@ -78,7 +115,7 @@ public class Table extends PageElement {
 	 * @return List&lt;String&gt; the headers of the table, populates with the first
 	 *         row if there are no &lt;th&gt; tags	 */
 	protected List<String> getOrCreateHeaders() {
-		if (headers.isEmpty()) {
+		if (headers.isEmpty() && !loadSnapshot()) {
 			getOrCreateHeaderElements();
 			for (WebElement header : headerElements) {
 				String headerText = header.getText();
@@ -157,7 +194,7 @@ public class Table extends PageElement {
 	 * @return List&lt;ArrayList&lt;String&gt;&gt;
 	 */
 	protected List<ArrayList<String>> getOrCreateRows() {
-		if (rows.isEmpty()) {
+		if (rows.isEmpty() && !loadSnapshot()) {
 			List<WebElement> dataRows = getOrCreateRowElements();
 			for (WebElement row : dataRows) {
 				List<WebElement> cellElements = row.findElements(By.tagName(tableCellDataTag));
@@ -180,11 +217,58 @@ public class Table extends PageElement {
 	 */
 	public int getNumberOfRows() {
 		//Selenium counts a <th> tag as a <td> tag and returns it.
-		final int numberOfRows = getOrCreateRowElements().size();
+		final int numberOfRows = countRows();
 		log.trace("Number of rows found: {}", numberOfRows);
 		return numberOfRows - 1;
 	}
 
+	/**
+	 * Returns the number of row elements in the table, using the table snapshot when one can
+	 * be taken so that the row elements themselves do not have to be fetched.
+	 * 
+	 * @return int the number of row elements
+	 */
+	protected int countRows() {
+		if (!rows.isEmpty() || loadSnapshot()) {
+			return rows.size();
+		}
+		return getOrCreateRowElements().size();
+	}
+
+	/**
+	 * Reads the text of all headers and cells in the table with a single executeScript call
+	 * and stores them in the headers and rows lists, instead of asking the driver for every
+	 * row, cell and piece of text separately. The tableHeaderTag, tableRowTag and tableCellDataTag
+	 * values are used to find the headers, rows and cells, so subclasses that change them get
+	 * the same behavior.
+	 * <p>
+	 * Nothing is loaded if the driver cannot execute JavaScript, if the tableSnapshot configuration
+	 * property is set to false, or if the script fails. In those cases the headers and rows are
+	 * read one element at a time as before.
+	 * 
+	 * @return boolean true if the snapshot was loaded, false if not
+	 */
+	protected boolean loadSnapshot() {
+		if ("false".equalsIgnoreCase(ConfigurationManager.getOptionalProperty("tableSnapshot"))
+				|| !(driver instanceof JavascriptExecutor)) {
+			return false;
+		}
+		TableSnapshot snapshot;
+		try {
+			String json = (String) ((JavascriptExecutor) driver).executeScript(SNAPSHOT_SCRIPT, this.element(), tableHeaderTag, tableRowTag, tableCellDataTag);
+			snapshot = SNAPSHOT_MAPPER.readValue(json, TableSnapshot.class);
+		} catch (WebDriverException | IOException | ClassCastException | IllegalArgumentException e) {
+			log.debug("Could not take a snapshot of the {} table, reading it one cell at a time instead: {}", getName(), e.getMessage());
+			return false;
+		}
+		headers.clear();
+		headers.addAll(snapshot.headers);
+		rows.clear();
+		rows.addAll(snapshot.rows);
+		log.trace("Table snapshot taken of {}: {} headers and {} rows", getName(), headers.size(), rows.size());
+		return true;
+	}
+
 	/**
 	 * Returns the mapping of header strings to cell arrays for each column in the table. 
 	 * e.g. { "Date Column": ["1/1/01", "1/2/01", ...] }
@@ -470,69 +554,108 @@ public class Table extends PageElement {
 	 * NOTE: Use the verifyColumnCellsAreSortedAscending() and verifyColumnCellsAreSortedDescending() methods
 	 * unless you have a custom sort to pass. Passing the wrong value can cause errors.
 	 * 
+	 * @see com.dougnoel.sentinel.elements.tables.Table#indexOfFirstUnsortedCell(String, boolean)
 	 * @param columnName String the name of the column you want to evaluate
 	 * @param sortOrderAscending boolean true for ascending, false for descending
 	 * @return boolean true is the column is sorted in the passed sort order, false if it is not sorted correctly
 	 */
 	public boolean verifyColumnCellsAreSorted(String columnName, boolean sortOrderAscending) {
+		return indexOfFirstUnsortedCell(columnName, sortOrderAscending) == -1;
+	}
+
+	/**
+	 * Returns the index of the first cell in the given column that is out of order, or -1 if the whole
+	 * column is sorted. Cells are compared the same way the AlphanumComparator sorts them, taking into
+	 * account there might be numbers in the strings.
+	 * 
+	 * @param columnName String the name of the column you want to evaluate
+	 * @param sortOrderAscending boolean true for ascending, false for descending
+	 * @return int the zero-based index of the first cell that should have come before the cell above it; -1 if the column is sorted
+	 */
+	public int indexOfFirstUnsortedCell(String columnName, boolean sortOrderAscending) {
 		getOrCreateHeaders();
 		ArrayList<String> column = getOrCreateColumns().get(columnName);
-		@SuppressWarnings("unchecked")
-		ArrayList<String> sortedColumn = (ArrayList<String>) column.clone();
-		
-		// We needs to sort the strings taking into account there might be numbers in the strings.
-		// We do that with a special sort.
-		Collections.sort(sortedColumn, new AlphanumComparator());
-		//If we want a descending sort order, we need to use the custom sort above, then reverse it.
-		if (!sortOrderAscending)
-		{
-			Collections.reverse(sortedColumn);	
+		int index = indexOfFirstUnsortedValue(column, sortOrderAscending);
+		if (index == -1) {
+			log.trace("The {} column is sorted in {} order: {}", columnName, sortOrderAscending ? "ascending" : "descending", column);
+		} else {
+			log.debug("The {} column is not sorted in {} order. The cell in row {} \"{}\" should come before the cell in row {} \"{}\". Column Data: {}", 
+					columnName, sortOrderAscending ? "ascending" : "descending", index + 1, column.get(index), index, column.get(index - 1), column);
 		}
-		log.trace("Sort Order: {}\n"
-				+ "Original Column Data: {}\n"
-				+ "  Sorted Column Data: {}", 
-				sortOrderAscending ? "Ascending" : "Descending", column, sortedColumn);
+		return index;
+	}
 
-		return column.equals(sortedColumn);
+	/**
+	 * Returns the index of the first value in the list that is out of order, or -1 if the list is sorted.
+	 * A comparison key is created for each value once, and then each value is compared only with the
+	 * one before it, so the check takes a single pass over the list.
+	 * 
+	 * @param values List&lt;String&gt; the values to check
+	 * @param sortOrderAscending boolean true for ascending, false for descending
+	 * @return int the zero-based index of the first value that should have come before the value above it; -1 if the list is sorted
+	 */
+	public static int indexOfFirstUnsortedValue(List<String> values, boolean sortOrderAscending) {
+		if (values.isEmpty()) {
+			return -1;
+		}
+		AlphanumKey previous = new AlphanumKey(values.get(0));
+		for (int i = 1; i < values.size(); i++) {
+			AlphanumKey current = new AlphanumKey(values.get(i));
+			int result = previous.compareTo(current);
+			if (sortOrderAscending ? result > 0 : result < 0) {
+				return i;
+			}
+			previous = current;
+		}
+		return -1;
 	}
 	
 	/**
-	 * Returns &lt;code&gt;true&lt;/code&gt; if the column cells are unique
+	 * Returns &lt;code&gt;true&lt;/code&gt; if no two cells in the column have the same value.
 	 * 
 	 * @param columnHeader String text of the given column header to search
 	 * @return boolean true if column cells are unique, false if duplicates are found, throws error otherwise
 	 */
 	public boolean verifyColumnCellsAreUnique(String columnHeader) {
+		return verifyColumnCellsAreUnique(columnHeader, false);
+	}
+
+	/**
+	 * Returns &lt;code&gt;true&lt;/code&gt; if the column cells are unique. Every group of duplicate
+	 * cells found is logged.
+	 * 
+	 * @param columnHeader String text of the given column header to search
+	 * @param partialMatch boolean true to also count a cell as a duplicate of any cell that contains its text, false to only count identical cells
+	 * @return boolean true if column cells are unique, false if duplicates are found, throws error otherwise
+	 */
+	public boolean verifyColumnCellsAreUnique(String columnHeader, boolean partialMatch) {
+		Map<String, List<Integer>> duplicates = findDuplicateColumnCells(columnHeader, partialMatch);
+		duplicates.forEach((cell, indexes) -> 
+			log.error("Duplicate values found. Header text: {} | Cell data: {} | Rows: {}", columnHeader, cell, toRowNumbers(indexes)));
+		return duplicates.isEmpty();
+	}
+
+	/**
+	 * Returns every group of duplicate cells in the given column. The indexes returned are zero-based
+	 * positions in the column.
+	 * 
+	 * @see com.dougnoel.sentinel.elements.tables.DuplicateFinder
+	 * @param columnHeader String text of the given column header to search
+	 * @param partialMatch boolean true to also count a cell as a duplicate of any cell that contains its text, false to only count identical cells
+	 * @return Map&lt;String,List&lt;Integer&gt;&gt; each duplicated cell value and the indexes of its duplicates; empty if the cells are unique
+	 */
+	public Map<String, List<Integer>> findDuplicateColumnCells(String columnHeader, boolean partialMatch) {
 		if (!verifyColumnExists(columnHeader)) {
 			log.error("IllegalArgumentException: Column header \"{}\" does not exist.", columnHeader);
 			throw new IllegalArgumentException("Column header \"" + columnHeader + "\" does not exist.");
 		}
 		getOrCreateHeaders();
 		ArrayList<String> column = getOrCreateColumns().get(columnHeader);
-		if (column.isEmpty()) {
+		if (column == null || column.isEmpty()) {
 			log.error("Header text: {}", columnHeader);
 			throw new IllegalArgumentException("Column header \"" + columnHeader + "\" does not exist.");
 		}
-		for (String cell : column) {
-			try {
-				int count = 0;
-				for (String cell2 : column) {
-					if (cell2.contains(cell)) {
-						count++;
-					}
-					if (count > 1) {
-						log.error("False result returned. Header text: {} | Cell data: {}", columnHeader, cell);
-						return false;
-					}
-				}
-
-			} catch (NullPointerException e) {
-				log.error("NullPointerException thrown. Header text: {} | Cell data: {}", columnHeader, cell);
-				throw e;
-			}
-
-		}
-		return true;
+		return partialMatch ? DuplicateFinder.findPartialDuplicates(column) : DuplicateFinder.findDuplicates(column);
 	}
 
 	/**
@@ -557,8 +680,19 @@ public class Table extends PageElement {
 	 * @return boolean true if all cells values are unique, false if any duplicates
 	 */
 	public boolean verifyRowCellsAreUnique(String columnName) {
+		return verifyRowCellsAreUnique(columnName, false);
+	}
+
+	/**
+	 * Returns true if the row cell's values are unique for the given column name
+	 * 
+	 * @param columnName String comma delimited columns list
+	 * @param partialMatch boolean true to also count a row as a duplicate of any row whose joined cell values contain its joined cell values, false to only count identical rows
+	 * @return boolean true if all cells values are unique, false if any duplicates
+	 */
+	public boolean verifyRowCellsAreUnique(String columnName, boolean partialMatch) {
 		String[] columnHeaders = columnName.split(", ");
-		return verifyRowCellsAreUnique(columnHeaders);
+		return verifyRowCellsAreUnique(columnHeaders, partialMatch);
 	}
 
 	/**
@@ -568,7 +702,39 @@ public class Table extends PageElement {
 	 * @return boolean true if all cells values are unique, false if any duplicates
 	 */
 	public boolean verifyRowCellsAreUnique(String[] columnHeaders) {
+		return verifyRowCellsAreUnique(columnHeaders, false);
+	}
 
+	/**
+	 * Returns true if the cell values are unique for the given array of column names. Every group
+	 * of duplicate rows found is logged.
+	 * 
+	 * @param columnHeaders string[] the array of column name to validate
+	 * @param partialMatch boolean true to also count a row as a duplicate of any row whose joined cell values contain its joined cell values, false to only count identical rows
+	 * @return boolean true if all cells values are unique, false if any duplicates
+	 */
+	public boolean verifyRowCellsAreUnique(String[] columnHeaders, boolean partialMatch) {
+		Map<?, List<Integer>> duplicates = findDuplicateRowCells(columnHeaders, partialMatch);
+		duplicates.forEach((cells, indexes) -> 
+			log.error("Duplicate values found. Header text: {} | Cell data: {} | Rows: {}", Arrays.toString(columnHeaders), cells, toRowNumbers(indexes)));
+		return duplicates.isEmpty();
+	}
+
+	/**
+	 * Returns every group of rows that have duplicate values in the given columns. The indexes
+	 * returned are zero-based positions among the rows that have data cells, the same as the
+	 * indexes returned by findDuplicateColumnCells().
+	 * <p>
+	 * For an exact match the values of each row are compared as a list, so the combination of
+	 * cells has to be the same for two rows to be duplicates. For a partial match the values of
+	 * each row are joined into one string and compared by containment.
+	 * 
+	 * @see com.dougnoel.sentinel.elements.tables.DuplicateFinder
+	 * @param columnHeaders string[] the array of column name to validate
+	 * @param partialMatch boolean true to also count a row as a duplicate of any row whose joined cell values contain its joined cell values, false to only count identical rows
+	 * @return Map&lt;?,List&lt;Integer&gt;&gt; each duplicated key (a List&lt;String&gt; for an exact match, a String for a partial match) and the indexes of its duplicates; empty if the rows are unique
+	 */
+	public Map<?, List<Integer>> findDuplicateRowCells(String[] columnHeaders, boolean partialMatch) {
 		getOrCreateHeaders();
 		getOrCreateRows();
 		List<Integer> indexes = new ArrayList<>();
@@ -584,39 +750,52 @@ public class Table extends PageElement {
 					indexes.add(i);
 			}
 		}
-		for (List<String> cells : rows) {
 
-			String cellValue = getCellsValue(indexes, cells);
-
-			int count = 0;
-			for (List<String> cells2 : rows) {
-				String cellValue2 = getCellsValue(indexes, cells2);
-				if (cellValue2.contains(cellValue)) {
-					count++;
-				}
-				if (count > 1) {
-					log.trace("False result returned. Header text: {} | Cell data: {}", indexes, cellValue);
-					return false;
-				}
+		// Rows without data cells, such as a row of <th> headers, are skipped the same way
+		// getOrCreateColumns() skips them, so both report the same index for a row.
+		List<List<String>> keys = new ArrayList<>(rows.size());
+		for (ArrayList<String> row : rows) {
+			if (!row.isEmpty()) {
+				keys.add(getCellsValues(indexes, row));
 			}
 		}
 
-		return true;
+		Map<?, List<Integer>> duplicates;
+		if (partialMatch) {
+			List<String> joinedKeys = new ArrayList<>(keys.size());
+			keys.forEach(key -> joinedKeys.add(String.join("", key)));
+			duplicates = DuplicateFinder.findPartialDuplicates(joinedKeys);
+		} else {
+			duplicates = DuplicateFinder.findDuplicates(keys);
+		}
+		return duplicates;
 	}
 
 	/**
-	 * Returns all the cells values in the listed columns
+	 * Returns the cell values in the listed columns
 	 * 
 	 * @param indexes List&lt;Integer&gt; listed column index
 	 * @param cells List&lt;String&gt; row cells
-	 * @return String of listed columns row values
+	 * @return List&lt;String&gt; the row values of the listed columns
 	 */
-	private String getCellsValue(List<Integer> indexes, List<String> cells) {
-		String cellValues = "";
-		for (int index = 0; index < indexes.size(); index++) {
-			cellValues = cellValues.concat(cells.get(indexes.get(index)));
+	private static List<String> getCellsValues(List<Integer> indexes, List<String> cells) {
+		List<String> cellValues = new ArrayList<>(indexes.size());
+		for (int index : indexes) {
+			cellValues.add(cells.get(index));
 		}
 		return cellValues;
 	}
 
+	/**
+	 * Converts zero-based indexes to the one-based row numbers used in log and failure messages.
+	 * 
+	 * @param indexes List&lt;Integer&gt; zero-based indexes
+	 * @return List&lt;Integer&gt; one-based row numbers
+	 */
+	public static List<Integer> toRowNumbers(List<Integer> indexes) {
+		List<Integer> rowNumbers = new ArrayList<>(indexes.size());
+		indexes.forEach(index -> rowNumbers.add(index + 1));
+		return rowNumbers;
+	}
+
 }
@@ -85,21 +85,8 @@ public class Page {
         return elements.computeIfAbsent(normalizedName, name -> createElement(name));
 	}
 	
-	private Map<String, String> findElement(String elementName, String pageName) {
-		Map<String, String> elementData = ConfigurationManager.getElement(elementName, pageName);
-		if (elementData == null) {
-			for (String page : ConfigurationManager.getPageParts(pageName)) {
-				elementData = findElement(elementName, page);
-				if (elementData != null) {
-					break;
-				}
-			}
-		}
-		return elementData;
-	}
-	
 	private PageElement createElement(String elementName) {
-		Map<String, String> elementData = findElement(elementName, getName());
+		Map<String, String> elementData = ConfigurationManager.getElementTable(getName()).getElement(elementName);
 		
 		if (elementData == null) {
 			String errorMessage = SentinelStringUtils.format("Data for the element {} could not be found in the {}.yml file.", elementName, this.getName());
@@ -1,7 +1,9 @@
 package com.dougnoel.sentinel.pages;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
@@ -24,6 +26,9 @@ import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
  */
 public class PageData {
 	private static final Logger log = LogManager.getLogger(PageData.class); // Create a logger.
+	// Mappers are thread safe once configured, so one is shared instead of building one for every file.
+	private static final ObjectMapper MAPPER = new ObjectMapper(new YAMLFactory())
+			.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
 	// page urls to load in the web driver TODO: Annotate corretly.
 	public Map<String,String> urls;
 	// user account data TODO: Annotate corretly.
@@ -51,17 +56,29 @@ public class PageData {
 	 * @throws IOException if the configuration file cannot be opened or read
 	 */
 	public static PageData loadYaml(File fileName) throws IOException{
-		ObjectMapper mapper = new ObjectMapper(new YAMLFactory())
-				.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+		try (InputStream input = new FileInputStream(fileName)) {
+			return loadYaml(input, fileName);
+		}
+	}
+
+	/**
+	 * Returns the usable PageData object read from the given stream.
+	 * 
+	 * @param input InputStream the contents of a page object file
+	 * @param source Object the file or URL the stream was opened from, used in error messages
+	 * @return PageData the configured PageData
+	 * @throws IOException if the stream cannot be read
+	 */
+	public static PageData loadYaml(InputStream input, Object source) throws IOException{
 		PageData pageData = null;
 		try {
-			pageData = mapper.readValue(fileName, PageData.class);
+			pageData = MAPPER.readValue(input, PageData.class);
 		} catch (JsonParseException e) {
-			String errorMessage = SentinelStringUtils.format("Configuration file is not a valid YAML file: {}.", fileName);
+			String errorMessage = SentinelStringUtils.format("Configuration file is not a valid YAML file: {}.", source);
 			log.error(errorMessage);
 			throw new ConfigurationParseException(errorMessage, e);
 		} catch (JsonMappingException e) {
-			String errorMessage = SentinelStringUtils.format("Incorrect formatting in the configuration file: {}.", fileName);
+			String errorMessage = SentinelStringUtils.format("Incorrect formatting in the configuration file: {}.", source);
 			log.error(errorMessage);
 			throw new ConfigurationMappingException(errorMessage, e);
 		}
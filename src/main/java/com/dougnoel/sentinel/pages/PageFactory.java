@@ -1,12 +1,14 @@
 package com.dougnoel.sentinel.pages;
 
 import java.util.HashMap;
+import java.util.Map;
 /**
  * The Page Factory is a factory method that simply takes a string containing the name of a 
  * Page Object and returns the object to be worked on. It handles searching packages for page definitions.
+ * Pages are cached per thread, because each page holds the driver of the thread that created it.
  */
 public class PageFactory {
-	private static HashMap<String, Page> pages = new HashMap<>();	
+	private static final ThreadLocal<Map<String, Page>> pages = ThreadLocal.withInitial(HashMap::new);
 	
 	private PageFactory() {
 		//Exists only to defeat instantiation.
@@ -20,14 +22,23 @@ public class PageFactory {
 	 * @return Page the page object
 	 */
 	public static Page buildOrRetrievePage(String pageName) {
-		Page page = pages.get(pageName);
+		Map<String, Page> threadPages = pages.get();
+		Page page = threadPages.get(pageName);
 		if (page != null) {
 			return page;
 		} else {
 			page = new Page(pageName);
 		}
-		pages.put(pageName, page);
+		threadPages.put(pageName, page);
 		return page;
 	}
 
+	/**
+	 * Forgets every page created on the current thread. Used when the thread's driver is
+	 * quit, so that new pages are created with the next driver.
+	 */
+	public static void clear() {
+		pages.remove();
+	}
+
 }
\ No newline at end of file
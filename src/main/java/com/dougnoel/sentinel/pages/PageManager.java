@@ -1,42 +1,72 @@
 package com.dougnoel.sentinel.pages;
 
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.openqa.selenium.By;
-import org.openqa.selenium.JavascriptExecutor;
-import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebDriverException;
+import com.dougnoel.sentinel.configurations.ConfigurationManager;
 import com.dougnoel.sentinel.configurations.TimeoutManager;
 import com.dougnoel.sentinel.exceptions.NoSuchFrameException;
 import com.dougnoel.sentinel.exceptions.NoSuchWindowException;
 import com.dougnoel.sentinel.exceptions.PageNotFoundException;
 import com.dougnoel.sentinel.exceptions.URLNotFoundException;
 import com.dougnoel.sentinel.strings.SentinelStringUtils;
+import com.dougnoel.sentinel.webdrivers.WebDriverFactory;
 
 /**
  * The Page Manager is a singleton class that manages what page the test is on.
  * Calling setPage with a strong containing the name of the new page calls the
  * Page Factory to create the new page and return it as a Page Object.
+ * <p>
+ * The current page, parent window handle and navigation count are kept per thread,
+ * so that scenarios running in parallel on different threads do not interfere with
+ * each other. Each thread also gets its own driver from the WebDriverFactory and its
+ * own page cache from the PageFactory.
  */
 public class PageManager {
 	private static final Logger log = LogManager.getLogger(PageManager.class);
-	// Only one page reference should exist. We aren't doing multi-threading.
-	private static Page page = null;
+	// One page reference per thread, so scenarios can run in parallel.
+	private static final ThreadLocal<Page> page = new ThreadLocal<>();
 	// Only one page manager can exist.
-	private static PageManager instance = null;
-	// Page handle for the first window opened.
-	private static String parentHandle = null;
+	private static volatile PageManager instance = null;
+	// Page handle for the first window opened on each thread.
+	private static final ThreadLocal<String> parentHandle = new ThreadLocal<>();
+	// Incremented every time the document the thread's driver is looking at may have been replaced.
+	private static final ThreadLocal<AtomicLong> navigationCount = ThreadLocal.withInitial(AtomicLong::new);
 
 	protected static WebDriver driver() {
-		return page.driver;
+		return page.get().driver;
 	} // Get the driver for the current page.
 
 	private PageManager() {
 		// Exists only to defeat instantiation.
 	}
 
+	/**
+	 * Returns a number that changes every time the PageManager navigates, switches windows or
+	 * frames, or is told the page may have changed. Elements compare it to the value they had
+	 * when they were found to know whether the WebElement they are holding can still be used.
+	 * The count is kept per thread, because each thread has its own driver.
+	 * 
+	 * @return long the current navigation count
+	 */
+	public static long getNavigationCount() {
+		return navigationCount.get().get();
+	}
+
+	/**
+	 * Tells the PageManager that the document may have been replaced, so that all elements
+	 * look themselves up again the next time they are used. Call this after any action
+	 * outside of the PageManager that can load a new page.
+	 */
+	public static void pageChanged() {
+		navigationCount.get().incrementAndGet();
+	}
+
 	/**
 	 * This method sets a Page Object based on the class name passed to it. This
 	 * allows us to operate on pages without knowing they exist when we write step
@@ -55,8 +85,10 @@ public class PageManager {
 			instance = new PageManager();
 
 		// Get a page from the page factory
-		PageManager.page = PageFactory.buildOrRetrievePage(pageName);
-		return page;
+		Page newPage = PageFactory.buildOrRetrievePage(pageName);
+		page.set(newPage);
+		pageChanged();
+		return newPage;
 	}
 
 	/**
@@ -67,10 +99,11 @@ public class PageManager {
 	public static Page getPage() {
 		if (instance == null)
 			throw new PageNotFoundException("Page not created yet. It must be created before it can be used. Make sure you are calling getPage in your BeforeAll step with parameters.");
-		if(page == null) {
+		Page currentPage = page.get();
+		if(currentPage == null) {
 			throw new PageNotFoundException("We could not find the Page you are looking for. Please check the pageObjectPackages configuration in conf/sentinel.yml and make sure it includes directory containing your page object.");
 		}
-		return page;
+		return currentPage;
 	}
 
 	/**
@@ -82,7 +115,9 @@ public class PageManager {
 	 */
 	public static String openPage(String pageURL) {
 		open(pageURL);
-		return driver().getWindowHandle();
+		String handle = driver().getWindowHandle();
+		parentHandle.set(handle);
+		return handle;
 	}
 
 	/**
@@ -94,6 +129,7 @@ public class PageManager {
 	 */
 	protected static void open(String url) {
 		driver().get(url);
+		pageChanged();
 	}
 
 	/**
@@ -102,14 +138,36 @@ public class PageManager {
 	 */
 	public static void close() {
 		driver().close();
+		pageChanged();
 	}
 
 	/**
-	 * Quits the current driver. Subsequent calls to the driver will fail. Should be
+	 * Quits the current thread's driver and forgets the pages created for it. The
+	 * next page set on this thread will be created with a new driver. Should be
 	 * used at the end of tests only.
 	 */
 	public static void quit() {
-		driver().quit();
+		WebDriverFactory.quit();
+		PageFactory.clear();
+		page.remove();
+		parentHandle.remove();
+		pageChanged();
+	}
+
+	/**
+	 * Forgets the values stored by the scenario, then gives the current thread's driver back to the
+	 * WebDriverPool at the end of a scenario and forgets the pages created with it. The driver and
+	 * pages are kept if the driver did not come from the pool, so that without a pool one driver is
+	 * kept for the whole run.
+	 */
+	public static void release() {
+		ConfigurationManager.clearValues();
+		if (WebDriverFactory.release()) {
+			PageFactory.clear();
+			page.remove();
+			parentHandle.remove();
+			pageChanged();
+		}
 	}
 
 	/**
@@ -123,7 +181,8 @@ public class PageManager {
 	 */
 	public static Page navigateTo(String url) {
 		driver().navigate().to(url);
-		return page;
+		pageChanged();
+		return page.get();
 	}
 
 	/**
@@ -136,7 +195,8 @@ public class PageManager {
 	 */
 	public static Page navigateForward() {
 		driver().navigate().forward();
-		return page;
+		pageChanged();
+		return page.get();
 	}
 
 	/**
@@ -149,7 +209,8 @@ public class PageManager {
 	 */
 	public static Page navigateBack() {
 		driver().navigate().back();
-		return page;
+		pageChanged();
+		return page.get();
 	}
 
 	/**
@@ -159,7 +220,8 @@ public class PageManager {
 	 */
 	public static Page refresh() {
 		driver().navigate().refresh();
-		return page;
+		pageChanged();
+		return page.get();
 	}
 
     /**
@@ -170,7 +232,7 @@ public class PageManager {
      */
     public Page maximizeWindow() {
         driver().manage().window().maximize();
-        return page;
+        return page.get();
     }
 
     /**
@@ -202,13 +264,14 @@ public class PageManager {
 			log.error(errorMessage);
 			throw new NoSuchWindowException(errorMessage);
 		}
-		if (parentHandle == null) {
+		String parent = parentHandle.get();
+		if (parent == null) {
 			String errorMessage = "Parent Window cannot be found. Please open a window and restart your test.";
 			log.error(errorMessage);
 			throw new NoSuchWindowException(errorMessage);
 		}
 		for (String handle : handles) {
-			if (!handle.equals(parentHandle)) {
+			if (!handle.equals(parent)) {
 				newHandle = handle;
 			}
 		}
@@ -228,6 +291,7 @@ public class PageManager {
 	public static void switchToNewWindow(String index) {
 		try {
 			driver().switchTo().window(index);
+			pageChanged();
 			log.trace("Switched to new window {}", index);
 		} catch (org.openqa.selenium.NoSuchWindowException e) {
 			String errorMessage = SentinelStringUtils.format(
@@ -247,8 +311,10 @@ public class PageManager {
 	 */
 	public static String closeChildWindow() {
 		close();
-		driver().switchTo().window(parentHandle);
-		return parentHandle;
+		String parent = parentHandle.get();
+		driver().switchTo().window(parent);
+		pageChanged();
+		return parent;
 	}
 
 	/**
@@ -257,6 +323,7 @@ public class PageManager {
 	public static void switchToIFrame() {
 		try {
 			driver().switchTo().frame(0);
+			pageChanged();
 			log.trace("Switched to iFrame on current page");
 		} catch (org.openqa.selenium.NoSuchFrameException e) {
 			String errorMessage = SentinelStringUtils.format(
@@ -282,7 +349,7 @@ public class PageManager {
 		} catch (WebDriverException e) {
 			String errorMessage = SentinelStringUtils.format(
 					"An error occured when trying to find the current URL for {}. Please check the URL and try again: {}",
-					page.getName(), e.getMessage());
+					page.get().getName(), e.getMessage());
 			log.error(errorMessage);
 			throw new URLNotFoundException(errorMessage);
 
@@ -296,40 +363,19 @@ public class PageManager {
 
 	/**
 	 * Sets page load timeout on web driver instance using the timeout and timeunit values set in
-	 * the configuration file or on the command line. Then interfaces with isPageLoaded to continually 
-	 * test if a page is loaded until it returns true or times out.
+	 * the configuration file or on the command line. Then waits for the page to be ready using a
+	 * single asynchronous script, which returns as soon as document.readyState is complete and, if
+	 * they are configured, the network and DOM have been quiet for long enough. The wait uses the
+	 * time left for the current step.
 	 * 
-	 * @see PageManager#isPageLoaded()
+	 * @see PageReadiness#waitUntilReady(WebDriver, long, java.util.concurrent.TimeUnit)
 	 * 
 	 * @return boolean always returns true, will throw exception if page does not load
 	 * @throws InterruptedException if the thread gets interrupted
 	 */
 	public static boolean waitForPageLoad() throws InterruptedException {
 		driver().manage().timeouts().pageLoadTimeout(TimeoutManager.getDefaultTimeout(), TimeoutManager.getDefaultTimeUnit());
-		while (!isPageLoaded()) {
-			Thread.sleep(20);
-		}
+		PageReadiness.waitUntilReady(driver(), TimeoutManager.getDeadline().remainingMillis(), TimeUnit.MILLISECONDS);
 		return true;
 	}
-
-	/**
-	 * Returns true if document.readyState is complete for the current driver,
-	 * meaning the page has loaded successfully. Uses the driver's pageLoadTimeout
-	 * setting to throw a TimeoutException if the body element cannot be found on
-	 * the page.
-	 * 
-	 * @return boolean true if page has loaded, false if not
-	 */
-	private static boolean isPageLoaded() {
-		try {
-			// TimeoutException is triggered by using driver().findElement
-			driver().findElement(By.tagName("body"));
-		} catch (TimeoutException e) {
-			throw new TimeoutException(
-					"This page timed out before it could finish loading. Please increase the timeout, ensure the page you are loading exists, or check your internet connection and try agin.");
-		}
-		// if we've gotten this far, we haven't timed out so return the
-		// document.readyState check
-		return ((JavascriptExecutor) driver()).executeScript("return document.readyState").equals("complete");
-	}
 }
@@ -0,0 +1,104 @@
+package com.dougnoel.sentinel.pages;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+import com.dougnoel.sentinel.configurations.ConfigurationManager;
+import com.dougnoel.sentinel.elements.JavaScriptLibrary;
+
+/**
+ * Waits for a page to be ready with a single asynchronous script that runs in the browser until
+ * the page is ready, instead of asking the browser over and over whether it is ready yet.
+ * <p>
+ * A page is ready when document.readyState is complete. Two optional conditions help with single
+ * page applications that keep loading data after the document itself has loaded:
+ * <ul>
+ * <li>pageLoadNetworkIdle - the number of milliseconds that must pass with no fetch or XMLHttpRequest
+ * calls outstanding.</li>
+ * <li>pageLoadDomQuiet - the number of milliseconds that must pass with no changes to the DOM.</li>
+ * </ul>
+ * Both are off unless they are set in the configuration file or on the command line. Fetch and
+ * XMLHttpRequest calls are counted from the first time a page is waited on. Requests the page started
+ * before that, such as the first data requests of a single page application, are seen through the
+ * browser's resource timing entries when they finish, and each one that finishes starts the quiet
+ * period over.
+ * <p>
+ * The wait is the whenReady function of the JavaScriptLibrary, which is sent along with the call
+ * since a page that has just been loaded will not have the library yet.
+ */
+public class PageReadiness {
+	private static final Logger log = LogManager.getLogger(PageReadiness.class); // Create a logger.
+
+	// Time given to the check made when the step has no time left, on top of the quiet periods.
+	private static final long MINIMUM_CHECK_MILLIS = 100;
+
+	private PageReadiness() {
+		// Exists to defeat instantiation.
+	}
+
+	/**
+	 * Waits until the page loaded in the driver is ready, using one executeAsyncScript call. If the
+	 * page navigates away while the script is running, the wait starts again on the new page until
+	 * the timeout runs out. The page is always checked at least once, with enough time for the quiet
+	 * periods to pass, even if the timeout has already run out. Drivers that cannot execute JavaScript
+	 * are assumed to be ready.
+	 *
+	 * @param driver WebDriver the driver to wait on
+	 * @param timeout long the maximum time to wait
+	 * @param unit TimeUnit the unit of the timeout
+	 * @throws TimeoutException if the page is not ready before the timeout
+	 */
+	public static void waitUntilReady(WebDriver driver, long timeout, TimeUnit unit) {
+		if (!(driver instanceof JavascriptExecutor)) {
+			return;
+		}
+		long networkIdle = getMilliseconds("pageLoadNetworkIdle");
+		long domQuiet = getMilliseconds("pageLoadDomQuiet");
+		long started = System.currentTimeMillis();
+		long deadline = started + Math.max(unit.toMillis(timeout), Math.max(networkIdle, domQuiet) + MINIMUM_CHECK_MILLIS);
+		try {
+			while (true) {
+				long remaining = deadline - System.currentTimeMillis();
+				if (remaining <= 0) {
+					throw new TimeoutException(getTimeoutMessage());
+				}
+				driver.manage().timeouts().setScriptTimeout(remaining, TimeUnit.MILLISECONDS);
+				try {
+					JavaScriptLibrary.loadAndCallAsync(driver, "whenReady", networkIdle, domQuiet);
+					log.trace("Page ready after waiting {} ms.", System.currentTimeMillis() - started);
+					return;
+				} catch (ScriptTimeoutException e) {
+					throw new TimeoutException(getTimeoutMessage(), e);
+				} catch (JavascriptException e) {
+					// The document was replaced while the script was running, so wait on the new one.
+					log.trace("Page changed while waiting for it to be ready, waiting again: {}", e.getMessage());
+				}
+			}
+		} finally {
+			driver.manage().timeouts().setScriptTimeout(JavaScriptLibrary.DEFAULT_SCRIPT_TIMEOUT, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Returns the number of milliseconds set for the property passed, or 0 if it is not set.
+	 *
+	 * @param property String the name of the configuration property
+	 * @return long the number of milliseconds
+	 */
+	private static long getMilliseconds(String property) {
+		String value = ConfigurationManager.getOptionalProperty(property);
+		return StringUtils.isNumeric(value) ? Long.parseLong(value) : 0L;
+	}
+
+	private static String getTimeoutMessage() {
+		return "This page timed out before it could finish loading. Please increase the timeout, ensure the page you are loading exists, or check your internet connection and try agin.";
+	}
+}
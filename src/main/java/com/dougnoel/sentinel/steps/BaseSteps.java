@@ -4,11 +4,15 @@ import static com.dougnoel.sentinel.elements.ElementFunctions.getElement;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import com.dougnoel.sentinel.configurations.ConfigurationManager;
+import com.dougnoel.sentinel.configurations.PageObjectPrewarmer;
 import com.dougnoel.sentinel.configurations.TimeoutManager;
 import com.dougnoel.sentinel.exceptions.SentinelException;
 import com.dougnoel.sentinel.pages.PageManager;
 
+import io.cucumber.java.After;
+import io.cucumber.java.AfterStep;
 import io.cucumber.java.Before;
+import io.cucumber.java.BeforeStep;
 import io.cucumber.java.Scenario;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.When;
@@ -28,6 +32,22 @@ public class BaseSteps {
     @Before
     public static void before(Scenario scenario) {
         log.trace("Scenario ID: {} Scenario Name: {}", scenario.getId(), scenario.getName());
+        PageObjectPrewarmer.prewarmOnce();
+    }
+
+    @BeforeStep
+    public static void beforeStep() {
+        TimeoutManager.startStep();
+    }
+
+    @AfterStep
+    public static void afterStep() {
+        TimeoutManager.endStep();
+    }
+
+    @After
+    public static void after() {
+        PageManager.release();
     }
     
     /**
@@ -4,11 +4,16 @@ import static com.dougnoel.sentinel.elements.ElementFunctions.getElementAsTable;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import com.dougnoel.sentinel.configurations.ConfigurationManager;
+import com.dougnoel.sentinel.elements.tables.Table;
 import com.dougnoel.sentinel.strings.SentinelStringUtils;
 
 import io.cucumber.java.en.Then;
@@ -63,25 +68,37 @@ public class TableVerificationSteps {
     }
     
     /**
-     * Verifies a column contains unique text
+     * Verifies a column contains unique text. By default only identical cells count as duplicates.
+     * Adding "with no partial matches" to the step also counts a cell as a duplicate of any cell that
+     * contains its text. Every group of duplicates found is logged and reported in the failure message
+     * with the row numbers, starting from 1, where it was found.
      * <p>
      * <b>Gherkin Examples:</b>
      * <ul>
      * <li>I verify the Date column in the History table contains unique values</li>
      * <li>I verify the Contact column in the Provider table contains unique values</li>
-     * <li>I verify the Email column in the Employees table contains unique values</li>
+     * <li>I verify the Email column in the Employees table contains unique values with no partial matches</li>
+     * <li>I verify the First Name, Last Name columns in the Employees table contain unique values</li>
      * </ul>
      * @param columnName String name of the column to verify
      * @param isMultiCells String if table has more than 1 row
      * @param tableName String name of the table to search
+     * @param partialMatch String null for an exact match, any other value to also count partial matches as duplicates
      */
-    @Then("^I verify the (.*?) column(s)? in the (.*?) contains? unique values$")
-	public static void verifyUniqueColumnText(String columnName, String isMultiCells, String tableName) {
-		if (isMultiCells != null) {		
-			assertTrue(getElementAsTable(tableName).verifyRowCellsAreUnique(columnName));
+    @Then("^I verify the (.*?) column(s)? in the (.*?) contains? unique values( with no partial matches)?$")
+	public static void verifyUniqueColumnText(String columnName, String isMultiCells, String tableName, String partialMatch) {
+		boolean partial = partialMatch != null;
+		Map<?, List<Integer>> duplicates;
+		if (isMultiCells != null) {
+			duplicates = getElementAsTable(tableName).findDuplicateRowCells(columnName.split(", "), partial);
 		} else {
-			assertTrue(getElementAsTable(tableName).verifyColumnCellsAreUnique(columnName));
+			duplicates = getElementAsTable(tableName).findDuplicateColumnCells(columnName, partial);
 		}
+		Map<Object, List<Integer>> rows = new LinkedHashMap<>();
+		duplicates.forEach((value, indexes) -> rows.put(value, Table.toRowNumbers(indexes)));
+		String expectedResult = SentinelStringUtils.format("Expected the {} column{} of the {} to contain unique values{}. Duplicates found (value=rows): {}",
+				columnName, (isMultiCells != null ? "s" : ""), tableName, (partial ? " with no partial matches" : ""), rows);
+		assertTrue(expectedResult, duplicates.isEmpty());
 	}
 
     /**
@@ -178,13 +195,10 @@ public class TableVerificationSteps {
     public static void verifyColumnSort(String columnName, String tableName, String sortOrder) {
         boolean sortAscending = StringUtils.equals(sortOrder, "ascending");
         
-        String expectedResult = SentinelStringUtils.format("Expected the {} column of the {} to be sorted in {} order.", columnName, tableName, (sortAscending ? "ascending" : "descending"));
+        int unsortedIndex = getElementAsTable(tableName).indexOfFirstUnsortedCell(columnName, sortAscending);
+        String expectedResult = SentinelStringUtils.format("Expected the {} column of the {} to be sorted in {} order. The first cell out of order is in row {}.", columnName, tableName, (sortAscending ? "ascending" : "descending"), unsortedIndex + 1);
         log.trace(expectedResult);
-        if (sortAscending) {
-        	assertTrue(expectedResult, getElementAsTable(tableName).verifyColumnCellsAreSortedAscending(columnName));
-        } else {
-            assertTrue(expectedResult, getElementAsTable(tableName).verifyColumnCellsAreSortedDescending(columnName));
-        }
+        assertTrue(expectedResult, unsortedIndex == -1);
     }
 
 }
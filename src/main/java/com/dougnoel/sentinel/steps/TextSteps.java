@@ -1,16 +1,24 @@
 package com.dougnoel.sentinel.steps;
 
+import static com.dougnoel.sentinel.elements.ElementFunctions.getElement;
 import static com.dougnoel.sentinel.elements.ElementFunctions.getElementAsTextbox;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.apache.commons.lang3.RandomStringUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.openqa.selenium.By;
 import org.openqa.selenium.Keys;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 
 import com.dougnoel.sentinel.configurations.ConfigurationManager;
+import com.dougnoel.sentinel.elements.FormFiller;
+import com.dougnoel.sentinel.elements.PageElement;
 import com.dougnoel.sentinel.webdrivers.WebDriverFactory;
 
+import io.cucumber.datatable.DataTable;
 import io.cucumber.java.en.When;
 
 public class TextSteps {
@@ -120,6 +128,34 @@ public class TextSteps {
         ConfigurationManager.setValue(elementName, text);
     }
     
+    /**
+     * Fills in a form using a table of field names and the values to enter in them. Every field is
+     * looked up at once before any value is entered, and the values are then entered in the order
+     * of the table. Each value is typed into its field unless the formFill configuration property is
+     * set to javascript, in which case the values are set with JavaScript and an input and change
+     * event is fired on each field. A select field has the option with the given text selected.
+     * Each value entered is stored in the Configuration Manager using the field name as the key, the
+     * same as entering it with the "I enter" step.
+     * <p>
+     * <b>Gherkin Example:</b>
+     * <p>
+     * I fill in the form with:<br>
+     *   | first name field | Bob              |<br>
+     *   | last name field  | Smith            |<br>
+     *   | email field      | bob@example.com  |<br>
+     *   | state dropdown   | Maryland         |
+     * 
+     * @param table DataTable a two column table of field names and the values to enter in them
+     */
+    @When("^I fill (?:in )?the form with:$")
+    public static void fillForm(DataTable table) {
+        Map<String, String> values = table.asMap(String.class, String.class);
+        Map<PageElement, String> fields = new LinkedHashMap<>();
+        values.forEach((elementName, text) -> fields.put(getElement(elementName), StringUtils.defaultString(text)));
+        FormFiller.fill(fields);
+        values.forEach((elementName, text) -> ConfigurationManager.setValue(elementName, StringUtils.defaultString(text)));
+    }
+
     /**
      * Types the randomly generated text for the given key under which the text is stored in the given elementName.
 	 * The given values can have the same name as it looks up a stored value for that element. This should be called only after using the
@@ -4,15 +4,24 @@ import static com.dougnoel.sentinel.elements.ElementFunctions.getElement;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.By;
 import org.openqa.selenium.Keys;
+import com.dougnoel.sentinel.elements.ElementVerifier;
+import com.dougnoel.sentinel.exceptions.SentinelException;
 import com.dougnoel.sentinel.pages.PageManager;
 import com.dougnoel.sentinel.strings.SentinelStringUtils;
 import com.dougnoel.sentinel.webdrivers.WebDriverFactory;
 
+import io.cucumber.datatable.DataTable;
 import io.cucumber.java.en.Then;
 
 /**
@@ -22,6 +31,8 @@ import io.cucumber.java.en.Then;
 public class VerificationSteps {
 	
     private static final Logger log = LogManager.getLogger(VerificationSteps.class.getName()); // Create a logger.
+
+    private static final List<String> VERIFY_COLUMNS = Arrays.asList("element", "exists", "visible", "enabled", "text", "contains");
     
     /**
      * Verifies the given element exists. The given element string is made lower case 
@@ -57,7 +68,7 @@ public class VerificationSteps {
         if (negate) {
             // We need a different assertion here because checking to see if something does
             // exist takes 10 seconds to come back with a failure when we want it to come
-            // back much faster.
+            // back much faster. doesNotExist() gives up after absenceTimeout (1 second by default).
             assertTrue(expectedResult, getElement(elementName).doesNotExist());
         } else {
             assertTrue(expectedResult, getElement(elementName).isDisplayed());
@@ -185,7 +196,82 @@ public class VerificationSteps {
                                           // seconds
         assertTrue(expectedResult, negate == getElement(elementName).isDisplayed(waitTime));
     }
-    
+
+    /**
+     * Verifies many elements at once. Each row of the table names an element and what is expected
+     * of it. Every element is checked together, in one call to the browser when it can run JavaScript,
+     * until everything expected is true or the step runs out of time. Every expectation that was not
+     * met is then reported in one failure.
+     * <p>
+     * The Element column is required. The Exists, Visible and Enabled columns take yes or no, the Text
+     * column takes the exact text expected and the Contains column takes text the element should
+     * contain. Leave a cell empty to not check it. Columns that are not needed can be left out.
+     * <p>
+     * <b>Gherkin Example:</b>
+     * <p>
+     * I verify the following elements:<br>
+     *   | Element        | Exists | Visible | Enabled | Text    | Contains |<br>
+     *   | username field | yes    | yes     | yes     |         |          |<br>
+     *   | submit button  |        | yes     | no      | Submit  |          |<br>
+     *   | error message  | no     |         |         |         |          |<br>
+     *   | welcome banner |        |         |         |         | Welcome  |
+     *
+     * @param table DataTable the elements to check and what is expected of each
+     */
+    @Then("^I verify the following elements:$")
+    public static void verifyElements(DataTable table) {
+        List<ElementVerifier.Expectation> expectations = new ArrayList<>();
+        for (Map<String, String> row : table.asMaps()) {
+            Map<String, String> cells = new HashMap<>();
+            row.forEach((column, value) -> {
+                String name = StringUtils.lowerCase(StringUtils.trim(column));
+                if (!VERIFY_COLUMNS.contains(name)) {
+                    String errorMessage = SentinelStringUtils.format("{} is not a column that can be verified. Use {}.", column, VERIFY_COLUMNS);
+                    log.error(errorMessage);
+                    throw new SentinelException(errorMessage);
+                }
+                cells.put(name, StringUtils.trimToNull(value));
+            });
+            String elementName = cells.get("element");
+            if (elementName == null) {
+                String errorMessage = "Every row of the table needs an element name in the Element column.";
+                log.error(errorMessage);
+                throw new SentinelException(errorMessage);
+            }
+            expectations.add(new ElementVerifier.Expectation(elementName, getElement(elementName),
+                    toExpectation(elementName, "Exists", cells.get("exists")),
+                    toExpectation(elementName, "Visible", cells.get("visible")),
+                    toExpectation(elementName, "Enabled", cells.get("enabled")),
+                    cells.get("text"), cells.get("contains")));
+        }
+        List<String> failures = ElementVerifier.verify(expectations);
+        assertTrue(String.join(System.lineSeparator(), failures), failures.isEmpty());
+    }
+
+    /**
+     * Turns a yes or no cell of the verify elements table into an expectation.
+     *
+     * @param elementName String the element the cell is for, used in the error message
+     * @param column String the column the cell is in, used in the error message
+     * @param value String the cell, or null if it was empty
+     * @return Boolean true for yes, false for no, or null if the cell was empty
+     */
+    private static Boolean toExpectation(String elementName, String column, String value) {
+        if (value == null) {
+            return null;
+        }
+        switch (value.toLowerCase()) {
+        case "yes": case "y": case "true":
+            return Boolean.TRUE;
+        case "no": case "n": case "false":
+            return Boolean.FALSE;
+        default:
+            String errorMessage = SentinelStringUtils.format("\"{}\" in the {} column for the {} element should be yes or no.", value, column, elementName);
+            log.error(errorMessage);
+            throw new SentinelException(errorMessage);
+        }
+    }
+
     /**
      * Redirects to the given pageName
      * <p>
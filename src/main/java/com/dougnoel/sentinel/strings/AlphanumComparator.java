@@ -31,7 +31,9 @@ package com.dougnoel.sentinel.strings;
  * USE OR OTHER DEALINGS IN THE SOFTWARE.
  */
 
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.List;
 
 /**
  * This is an updated version with enhancements made by Daniel Migowski,
@@ -40,49 +42,32 @@ import java.util.Comparator;
  * To use this class:
  *   Use the static "sort" method from the java.util.Collections class:
  *   Collections.sort(your list, new AlphanumComparator());
+ *
+ * Chunks are compared in place using index cursors into the original strings, so
+ * no objects are created during a comparison. When the same strings are going to be
+ * compared many times, such as when sorting a large list, create an AlphanumKey for
+ * each string once with toKey(), or use the static sort() method which does that for you.
  */
 public class AlphanumComparator implements Comparator<String>
 {
-    private final boolean isDigit(char ch)
-    {
-        return ((ch >= 48) && (ch <= 57));
-    }
-
-    /** Length of string is passed in for improved efficiency (only need to calculate it once)
+    /**
+     * Returns the index just past the end of the chunk that starts at marker. A chunk
+     * is a run of digits or a run of non-digits.
      * 
      * @param s String the string to process
      * @param slength int the length of the string
      * @param marker int the start of the chunk
-     * @return String the chunk of string requested
+     * @return int the index just past the end of the chunk
      */
-    private final String getChunk(String s, int slength, int marker)
+    private static int getChunkEnd(String s, int slength, int marker)
     {
-        StringBuilder chunk = new StringBuilder();
-        char c = s.charAt(marker);
-        chunk.append(c);
+        boolean digit = AlphanumKey.isDigit(s.charAt(marker));
         marker++;
-        if (isDigit(c))
-        {
-            while (marker < slength)
-            {
-                c = s.charAt(marker);
-                if (!isDigit(c))
-                    break;
-                chunk.append(c);
-                marker++;
-            }
-        } else
+        while (marker < slength && AlphanumKey.isDigit(s.charAt(marker)) == digit)
         {
-            while (marker < slength)
-            {
-                c = s.charAt(marker);
-                if (isDigit(c))
-                    break;
-                chunk.append(c);
-                marker++;
-            }
+            marker++;
         }
-        return chunk.toString();
+        return marker;
     }
 
     public int compare(String s1, String s2)
@@ -99,41 +84,51 @@ public class AlphanumComparator implements Comparator<String>
 
         while (thisMarker < s1Length && thatMarker < s2Length)
         {
-            String thisChunk = getChunk(s1, s1Length, thisMarker);
-            thisMarker += thisChunk.length();
-
-            String thatChunk = getChunk(s2, s2Length, thatMarker);
-            thatMarker += thatChunk.length();
-
-            // If both chunks contain numeric characters, sort them numerically
-            int result = 0;
-            if (isDigit(thisChunk.charAt(0)) && isDigit(thatChunk.charAt(0)))
-            {
-                // Simple chunk comparison by length.
-                int thisChunkLength = thisChunk.length();
-                result = thisChunkLength - thatChunk.length();
-                // If equal, the first different number counts
-                if (result == 0)
-                {
-                    for (int i = 0; i < thisChunkLength; i++)
-                    {
-                        result = thisChunk.charAt(i) - thatChunk.charAt(i);
-                        if (result != 0)
-                        {
-                            return result;
-                        }
-                    }
-                }
-            } 
-            else
-            {
-                result = thisChunk.compareTo(thatChunk);
-            }
+            int thisChunkEnd = getChunkEnd(s1, s1Length, thisMarker);
+            int thatChunkEnd = getChunkEnd(s2, s2Length, thatMarker);
 
+            // Numeric chunks are compared numerically, everything else as strings.
+            int result = AlphanumKey.compareChunks(s1, thisMarker, thisChunkEnd, s2, thatMarker, thatChunkEnd);
             if (result != 0)
                 return result;
+
+            thisMarker = thisChunkEnd;
+            thatMarker = thatChunkEnd;
         }
 
         return s1Length - s2Length;
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns a reusable comparison key for the string passed. Keys compare in the same
+     * order as this comparator compares their strings, but split each string into chunks
+     * only once.
+     * 
+     * @param s String the string to create a key for
+     * @return AlphanumKey the comparison key
+     */
+    public static AlphanumKey toKey(String s)
+    {
+        return new AlphanumKey(s);
+    }
+
+    /**
+     * Sorts the list passed in place into the same order as Collections.sort(list, new AlphanumComparator())
+     * would, creating a comparison key for each value once instead of re-reading the strings on every comparison.
+     * 
+     * @param values List&lt;String&gt; the values to sort
+     */
+    public static void sort(List<String> values)
+    {
+        List<AlphanumKey> keys = new ArrayList<>(values.size());
+        for (String value : values)
+        {
+            keys.add(toKey(value));
+        }
+        keys.sort(null);
+        for (int i = 0; i < keys.size(); i++)
+        {
+            values.set(i, keys.get(i).getValue());
+        }
+    }
+}
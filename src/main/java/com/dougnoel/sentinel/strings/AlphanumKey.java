@@ -0,0 +1,138 @@
+package com.dougnoel.sentinel.strings;
+
+import java.util.Arrays;
+
+/**
+ * A string split into its digit and non-digit chunks once, so that it can be compared many times
+ * in the same order as the AlphanumComparator without finding the chunks again on every comparison.
+ * Use it when the same values are compared over and over, such as when checking that a column of
+ * a large table is sorted.
+ *
+ * @see com.dougnoel.sentinel.strings.AlphanumComparator
+ */
+public final class AlphanumKey implements Comparable<AlphanumKey> {
+	private final String value;
+	private final int[] chunkEnds; // The index just past the end of each chunk.
+
+	/**
+	 * Creates a comparison key for the string passed.
+	 *
+	 * @param value String the string to create a key for; may be null
+	 */
+	public AlphanumKey(String value) {
+		this.value = value;
+		this.chunkEnds = value == null ? new int[0] : findChunkEnds(value);
+	}
+
+	/**
+	 * Returns the string this key was created from.
+	 *
+	 * @return String the original string
+	 */
+	public String getValue() {
+		return value;
+	}
+
+	/**
+	 * Compares this key to another in the same order as AlphanumComparator.compare() would compare
+	 * their strings. As with the comparator, a null string is considered equal to everything.
+	 *
+	 * @param other AlphanumKey the key to compare against
+	 * @return int a negative number, zero, or a positive number as this key is less than, equal to, or greater than the other
+	 */
+	@Override
+	public int compareTo(AlphanumKey other) {
+		if (value == null || other.value == null) {
+			return 0;
+		}
+		int chunks = Math.min(chunkEnds.length, other.chunkEnds.length);
+		for (int i = 0; i < chunks; i++) {
+			int thisStart = i == 0 ? 0 : chunkEnds[i - 1];
+			int thatStart = i == 0 ? 0 : other.chunkEnds[i - 1];
+			int result = compareChunks(value, thisStart, chunkEnds[i], other.value, thatStart, other.chunkEnds[i]);
+			if (result != 0) {
+				return result;
+			}
+		}
+		return value.length() - other.value.length();
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (!(other instanceof AlphanumKey)) {
+			return false;
+		}
+		AlphanumKey that = (AlphanumKey) other;
+		return value == null ? that.value == null : value.equals(that.value);
+	}
+
+	@Override
+	public int hashCode() {
+		return value == null ? 0 : value.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return value;
+	}
+
+	/**
+	 * Returns the end of every run of digits and every run of non-digits in the string passed.
+	 *
+	 * @param s String the string to split into chunks
+	 * @return int[] the index just past the end of each chunk
+	 */
+	private static int[] findChunkEnds(String s) {
+		int length = s.length();
+		int[] ends = new int[length];
+		int chunks = 0;
+		for (int i = 1; i <= length; i++) {
+			if (i == length || isDigit(s.charAt(i)) != isDigit(s.charAt(i - 1))) {
+				ends[chunks++] = i;
+			}
+		}
+		return Arrays.copyOf(ends, chunks);
+	}
+
+	/**
+	 * Compares one chunk of each string. Two numeric chunks are compared by length and then
+	 * digit by digit, so that longer numbers sort after shorter ones. Any other pair of chunks
+	 * is compared the same way String.compareTo() compares strings.
+	 *
+	 * @param s1 String the first string
+	 * @param start1 int the start of the chunk in the first string
+	 * @param end1 int the index just past the end of the chunk in the first string
+	 * @param s2 String the second string
+	 * @param start2 int the start of the chunk in the second string
+	 * @param end2 int the index just past the end of the chunk in the second string
+	 * @return int a negative number, zero, or a positive number as the first chunk is less than, equal to, or greater than the second
+	 */
+	static int compareChunks(String s1, int start1, int end1, String s2, int start2, int end2) {
+		int length1 = end1 - start1;
+		int length2 = end2 - start2;
+		if (isDigit(s1.charAt(start1)) && isDigit(s2.charAt(start2)) && length1 != length2) {
+			return length1 - length2;
+		}
+		int length = Math.min(length1, length2);
+		for (int i = 0; i < length; i++) {
+			int result = s1.charAt(start1 + i) - s2.charAt(start2 + i);
+			if (result != 0) {
+				return result;
+			}
+		}
+		return length1 - length2;
+	}
+
+	/**
+	 * Returns true if the character is an ASCII digit.
+	 *
+	 * @param ch char the character to check
+	 * @return boolean true if the character is 0-9
+	 */
+	static boolean isDigit(char ch) {
+		return ch >= '0' && ch <= '9';
+	}
+}
@@ -1,20 +1,29 @@
 package com.dougnoel.sentinel.webdrivers;
 
+import java.io.IOException;
 import java.util.HashMap;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
 import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.remote.RemoteWebDriver;
 
 import com.dougnoel.sentinel.configurations.ConfigurationManager;
 import com.dougnoel.sentinel.exceptions.WebDriverException;
 import com.dougnoel.sentinel.exceptions.WebDriverNotExecutableException;
 import com.dougnoel.sentinel.strings.SentinelStringUtils;
 
+/**
+ * Creates Chrome drivers. One chromedriver process is started the first time a driver is created
+ * and kept running until the JVM exits. Every browser session is opened against that process, so
+ * starting a browser does not also mean starting chromedriver and waiting for its port.
+ */
 public class ChromeDriverFactory {
 	private static final Logger log = LogManager.getLogger(ChromeDriverFactory.class); // Create a logger.
+	// The chromedriver process shared by every session in this JVM.
+	private static ChromeDriverService service = null;
 	
 	private ChromeDriverFactory() {
 		// Exists to defeat instantiation.
@@ -28,7 +37,7 @@ public class ChromeDriverFactory {
     	setChromeDriverPath();
         setChromeDownloadDirectory("downloads");
         try {
-        	return new ChromeDriver();
+        	return new RemoteWebDriver(getService().getUrl(), new ChromeOptions());
         }
 		catch (IllegalStateException e) {
 			String errorMessage = SentinelStringUtils.format(WebDriverFactory.DRIVERNOTFOUNDERRORMESSAGEPATTERN, e.getMessage());
@@ -53,7 +62,7 @@ public class ChromeDriverFactory {
             options.addArguments("--no-sandbox");
             options.addArguments("--disable-dev-shm-usage");
             options.addArguments("--headless");
-            return new ChromeDriver(options);
+            return new RemoteWebDriver(getService().getUrl(), options);
         }
 		catch (IllegalStateException e) {
 			String errorMessage = SentinelStringUtils.format(WebDriverFactory.DRIVERNOTFOUNDERRORMESSAGEPATTERN, e.getMessage());
@@ -66,6 +75,31 @@ public class ChromeDriverFactory {
         }
     }
     
+    /**
+     * Returns the shared chromedriver service, starting it if it is not running yet. The service is
+     * stopped when the JVM exits.
+     * 
+     * @return ChromeDriverService the running chromedriver service
+     * @throws IllegalStateException if the chromedriver executable cannot be found
+     * @throws WebDriverNotExecutableException if chromedriver cannot be started
+     */
+    private static synchronized ChromeDriverService getService() {
+    	if (service == null || !service.isRunning()) {
+    		ChromeDriverService newService = ChromeDriverService.createDefaultService();
+    		try {
+    			newService.start();
+    		} catch (IOException e) {
+    			String errorMessage = SentinelStringUtils.format(WebDriverFactory.DRIVERNOTFOUNDERRORMESSAGEPATTERN, e.getMessage());
+    			log.error(errorMessage);
+    			throw new WebDriverNotExecutableException(errorMessage, e);
+    		}
+    		Runtime.getRuntime().addShutdownHook(new Thread(newService::stop));
+    		service = newService;
+    		log.debug("Started chromedriver at {}", service.getUrl());
+    	}
+    	return service;
+    }
+
     /**
      * Sets the path for the ChromeDriver based on operating system. Uses a custom driver if it is set as a configuration.
      */
@@ -1,17 +1,32 @@
 package com.dougnoel.sentinel.webdrivers;
 
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import org.openqa.selenium.remote.RemoteWebDriver;
 
 import com.dougnoel.sentinel.configurations.ConfigurationManager;
 import com.dougnoel.sentinel.exceptions.WebDriverException;
 import com.dougnoel.sentinel.exceptions.WebDriverNotExecutableException;
 import com.dougnoel.sentinel.strings.SentinelStringUtils;
 
+/**
+ * Creates Firefox drivers. Geckodriver can only run one browser session at a time, so instead of
+ * sharing one process, geckodriver processes are kept running after their session quits and the
+ * next session is opened against an idle one. A new geckodriver is only started when every running
+ * one is in use, such as when scenarios run in parallel. All of them are stopped when the JVM exits.
+ */
 public class FirefoxDriverFactory {
 	private static final Logger log = LogManager.getLogger(FirefoxDriverFactory.class); // Create a logger.
+	// Running geckodriver processes that do not have a session open.
+	private static final Queue<GeckoDriverService> idleServices = new ConcurrentLinkedQueue<>();
 	
 	private FirefoxDriverFactory() {
 		// Exists to defeat instantiation.
@@ -23,19 +38,107 @@ public class FirefoxDriverFactory {
      */
     protected static WebDriver createFirefoxDriver() {
     	setFirefoxDriverPath();
+    	GeckoDriverService service = null;
         try {
-        	return new FirefoxDriver();
+        	service = borrowService();
+        	return new FirefoxSession(service, new FirefoxOptions());
         }
 		catch (IllegalStateException e) {
+			stopService(service);
 			String errorMessage = SentinelStringUtils.format(WebDriverFactory.DRIVERNOTFOUNDERRORMESSAGEPATTERN, e.getMessage());
 			log.error(errorMessage);
 			throw new WebDriverNotExecutableException(errorMessage, e);
 		}
         catch (org.openqa.selenium.WebDriverException e) {
+        	stopService(service);
         	log.error(e.getMessage());
         	throw new WebDriverException(e);
         }
     }
+
+    /**
+     * Returns an idle geckodriver service, starting a new one if none are idle.
+     * 
+     * @return GeckoDriverService a running geckodriver service with no session open
+     * @throws IllegalStateException if the geckodriver executable cannot be found
+     * @throws WebDriverNotExecutableException if geckodriver cannot be started
+     */
+    private static GeckoDriverService borrowService() {
+    	GeckoDriverService service;
+    	while ((service = idleServices.poll()) != null) {
+    		if (service.isRunning()) {
+    			return service;
+    		}
+    	}
+    	service = GeckoDriverService.createDefaultService();
+    	try {
+    		service.start();
+    	} catch (IOException e) {
+    		String errorMessage = SentinelStringUtils.format(WebDriverFactory.DRIVERNOTFOUNDERRORMESSAGEPATTERN, e.getMessage());
+    		log.error(errorMessage);
+    		throw new WebDriverNotExecutableException(errorMessage, e);
+    	}
+    	Runtime.getRuntime().addShutdownHook(new Thread(service::stop));
+    	log.debug("Started geckodriver at {}", service.getUrl());
+    	return service;
+    }
+
+    /**
+     * Makes a geckodriver service available to the next session.
+     * 
+     * @param service GeckoDriverService the service whose session has ended, or null
+     */
+    private static void returnService(GeckoDriverService service) {
+    	if (service != null && service.isRunning()) {
+    		idleServices.offer(service);
+    	}
+    }
+
+    /**
+     * Stops a geckodriver service that failed to open or close a session. Geckodriver only allows one
+     * session, so a service in that state could be left holding one and would fail for every session
+     * opened against it afterwards.
+     * 
+     * @param service GeckoDriverService the service to stop, or null
+     */
+    private static void stopService(GeckoDriverService service) {
+    	if (service != null) {
+    		log.debug("Stopping geckodriver at {} after a session failed.", service.getUrl());
+    		service.stop();
+    	}
+    }
+
+    /**
+     * A Firefox session opened against a shared geckodriver service, which gives the service back
+     * when the session quits instead of stopping it. If quitting fails the service is stopped.
+     */
+    private static class FirefoxSession extends RemoteWebDriver {
+    	private final GeckoDriverService service;
+    	private final AtomicBoolean quit = new AtomicBoolean(false);
+
+    	FirefoxSession(GeckoDriverService service, FirefoxOptions options) {
+    		super(service.getUrl(), options);
+    		this.service = service;
+    	}
+
+    	@Override
+    	public void quit() {
+    		if (quit.getAndSet(true)) {
+    			return;
+    		}
+    		boolean closed = false;
+    		try {
+    			super.quit();
+    			closed = true;
+    		} finally {
+    			if (closed) {
+    				returnService(service);
+    			} else {
+    				stopService(service);
+    			}
+    		}
+    	}
+    }
     
     /**
      * Sets the path for the ChromeDriver based on operating system. Uses a custom driver if it is set as a configuration.
@@ -0,0 +1,91 @@
+package com.dougnoel.sentinel.webdrivers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.jsoup.select.Selector;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Runs Selenium lookups against a parsed HTML element for the InMemoryWebDriver and its elements.
+ * Only descendants of the element searched are returned, the same as a browser driver.
+ */
+final class InMemorySearchContext {
+
+	private InMemorySearchContext() {
+		// Exists to defeat instantiation.
+	}
+
+	static List<WebElement> byId(InMemoryWebDriver driver, Element root, String id) {
+		return wrap(driver, root, root.getElementsByAttributeValue("id", id));
+	}
+
+	static List<WebElement> byClassName(InMemoryWebDriver driver, Element root, String className) {
+		return wrap(driver, root, root.getElementsByClass(className));
+	}
+
+	static List<WebElement> byCssSelector(InMemoryWebDriver driver, Element root, String selector) {
+		return wrap(driver, root, select(selector, root::select));
+	}
+
+	static List<WebElement> byName(InMemoryWebDriver driver, Element root, String name) {
+		return wrap(driver, root, root.getElementsByAttributeValue("name", name));
+	}
+
+	static List<WebElement> byTagName(InMemoryWebDriver driver, Element root, String tagName) {
+		return wrap(driver, root, root.getElementsByTag(tagName));
+	}
+
+	static List<WebElement> byXPath(InMemoryWebDriver driver, Element root, String xpath) {
+		return wrap(driver, root, select(xpath, root::selectXpath));
+	}
+
+	static List<WebElement> byLinkText(InMemoryWebDriver driver, Element root, String linkText, boolean partial) {
+		Elements links = new Elements();
+		for (Element link : root.getElementsByTag("a")) {
+			String text = link.text().trim();
+			if (partial ? text.contains(linkText) : text.equals(linkText)) {
+				links.add(link);
+			}
+		}
+		return wrap(driver, root, links);
+	}
+
+	/**
+	 * Returns the first element in the list passed, or throws the same exception a browser driver would.
+	 *
+	 * @param elements List&lt;WebElement&gt; the elements found
+	 * @param by String a description of the lookup for the error message
+	 * @return WebElement the first element found
+	 * @throws NoSuchElementException if the list is empty
+	 */
+	static WebElement first(List<WebElement> elements, String by) {
+		if (elements.isEmpty()) {
+			throw new NoSuchElementException("Unable to locate element: " + by);
+		}
+		return elements.get(0);
+	}
+
+	private static Elements select(String selector, Function<String, Elements> query) {
+		try {
+			return query.apply(selector);
+		} catch (Selector.SelectorParseException | IllegalArgumentException e) {
+			throw new InvalidSelectorException("Invalid selector " + selector + ": " + e.getMessage());
+		}
+	}
+
+	private static List<WebElement> wrap(InMemoryWebDriver driver, Element root, Elements found) {
+		List<WebElement> elements = new ArrayList<>(found.size());
+		for (Element element : found) {
+			if (element != root) {
+				elements.add(new InMemoryWebElement(driver, element));
+			}
+		}
+		return elements;
+	}
+}
@@ -0,0 +1,496 @@
+package com.dougnoel.sentinel.webdrivers;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.NoSuchFrameException;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.internal.FindsByClassName;
+import org.openqa.selenium.internal.FindsByCssSelector;
+import org.openqa.selenium.internal.FindsById;
+import org.openqa.selenium.internal.FindsByLinkText;
+import org.openqa.selenium.internal.FindsByName;
+import org.openqa.selenium.internal.FindsByTagName;
+import org.openqa.selenium.internal.FindsByXPath;
+import org.openqa.selenium.logging.Logs;
+
+/**
+ * A WebDriver that parses HTML into memory instead of driving a browser. It does not run JavaScript
+ * or lay out pages, but it supports finding elements by CSS selector, XPath, id, name, class name,
+ * tag name and link text, reading text and attributes, typing into form fields, and following links.
+ * This makes it possible to test the framework itself in milliseconds, without a browser or a driver
+ * executable. Select it by setting the browser configuration property to inmemory.
+ * <p>
+ * Pages can be loaded from file: and http(s): URLs, or directly from a string with loadHtml().
+ * Each page is parsed once and kept in the history, so going back or forward, or refreshing, shows a
+ * fresh copy of the page as it was loaded without loading it again. There is one window, no frames,
+ * and no alerts.
+ */
+// By in Selenium 3 finds elements through the deprecated FindsBy interfaces, so they have to be implemented.
+@SuppressWarnings("deprecation")
+public class InMemoryWebDriver implements WebDriver, FindsByClassName, FindsByCssSelector, FindsById,
+		FindsByLinkText, FindsByName, FindsByTagName, FindsByXPath {
+	private static final Logger log = LogManager.getLogger(InMemoryWebDriver.class); // Create a logger.
+
+	private static final String ABOUT_BLANK = "about:blank";
+	private static final String WINDOW_HANDLE = "inmemory";
+
+	// Every page loaded, as it was parsed. The current document is a copy of one of them.
+	private final List<Document> history = new ArrayList<>();
+	private int historyIndex = -1;
+	private Document document;
+	private boolean open = true;
+
+	/**
+	 * Creates a driver with a blank page loaded.
+	 */
+	public InMemoryWebDriver() {
+		document = Jsoup.parse("", ABOUT_BLANK);
+	}
+
+	/**
+	 * Replaces the current page with the HTML passed, as if it had been loaded from the given URL.
+	 * Relative links in the page are resolved against that URL.
+	 *
+	 * @param html String the HTML to load
+	 * @param url String the URL of the page
+	 */
+	public void loadHtml(String html, String url) {
+		checkOpen();
+		addToHistory(Jsoup.parse(html, url));
+	}
+
+	/**
+	 * Returns the document currently loaded.
+	 *
+	 * @return org.jsoup.nodes.Document the parsed page
+	 */
+	Document getDocument() {
+		checkOpen();
+		return document;
+	}
+
+	@Override
+	public void get(String url) {
+		checkOpen();
+		addToHistory(load(url));
+	}
+
+	@Override
+	public String getCurrentUrl() {
+		checkOpen();
+		return historyIndex == -1 ? ABOUT_BLANK : history.get(historyIndex).location();
+	}
+
+	@Override
+	public String getTitle() {
+		return getDocument().title();
+	}
+
+	@Override
+	public List<WebElement> findElements(By by) {
+		return by.findElements(this);
+	}
+
+	@Override
+	public WebElement findElement(By by) {
+		return InMemorySearchContext.first(findElements(by), by.toString());
+	}
+
+	@Override
+	public String getPageSource() {
+		return getDocument().outerHtml();
+	}
+
+	@Override
+	public void close() {
+		open = false;
+	}
+
+	@Override
+	public void quit() {
+		open = false;
+	}
+
+	@Override
+	public Set<String> getWindowHandles() {
+		return open ? Collections.singleton(WINDOW_HANDLE) : Collections.emptySet();
+	}
+
+	@Override
+	public String getWindowHandle() {
+		checkOpen();
+		return WINDOW_HANDLE;
+	}
+
+	@Override
+	public TargetLocator switchTo() {
+		return new InMemoryTargetLocator();
+	}
+
+	@Override
+	public Navigation navigate() {
+		return new InMemoryNavigation();
+	}
+
+	@Override
+	public Options manage() {
+		return new InMemoryOptions();
+	}
+
+	@Override
+	public WebElement findElementByClassName(String using) {
+		return InMemorySearchContext.first(findElementsByClassName(using), "class name " + using);
+	}
+
+	@Override
+	public List<WebElement> findElementsByClassName(String using) {
+		return InMemorySearchContext.byClassName(this, getDocument(), using);
+	}
+
+	@Override
+	public WebElement findElementByCssSelector(String using) {
+		return InMemorySearchContext.first(findElementsByCssSelector(using), "css selector " + using);
+	}
+
+	@Override
+	public List<WebElement> findElementsByCssSelector(String using) {
+		return InMemorySearchContext.byCssSelector(this, getDocument(), using);
+	}
+
+	@Override
+	public WebElement findElementById(String using) {
+		return InMemorySearchContext.first(findElementsById(using), "id " + using);
+	}
+
+	@Override
+	public List<WebElement> findElementsById(String using) {
+		return InMemorySearchContext.byId(this, getDocument(), using);
+	}
+
+	@Override
+	public WebElement findElementByLinkText(String using) {
+		return InMemorySearchContext.first(findElementsByLinkText(using), "link text " + using);
+	}
+
+	@Override
+	public List<WebElement> findElementsByLinkText(String using) {
+		return InMemorySearchContext.byLinkText(this, getDocument(), using, false);
+	}
+
+	@Override
+	public WebElement findElementByPartialLinkText(String using) {
+		return InMemorySearchContext.first(findElementsByPartialLinkText(using), "partial link text " + using);
+	}
+
+	@Override
+	public List<WebElement> findElementsByPartialLinkText(String using) {
+		return InMemorySearchContext.byLinkText(this, getDocument(), using, true);
+	}
+
+	@Override
+	public WebElement findElementByName(String using) {
+		return InMemorySearchContext.first(findElementsByName(using), "name " + using);
+	}
+
+	@Override
+	public List<WebElement> findElementsByName(String using) {
+		return InMemorySearchContext.byName(this, getDocument(), using);
+	}
+
+	@Override
+	public WebElement findElementByTagName(String using) {
+		return InMemorySearchContext.first(findElementsByTagName(using), "tag name " + using);
+	}
+
+	@Override
+	public List<WebElement> findElementsByTagName(String using) {
+		return InMemorySearchContext.byTagName(this, getDocument(), using);
+	}
+
+	@Override
+	public WebElement findElementByXPath(String using) {
+		return InMemorySearchContext.first(findElementsByXPath(using), "xpath " + using);
+	}
+
+	@Override
+	public List<WebElement> findElementsByXPath(String using) {
+		return InMemorySearchContext.byXPath(this, getDocument(), using);
+	}
+
+	/**
+	 * Adds a page to the history, dropping anything after the current position like a browser does,
+	 * and shows it.
+	 *
+	 * @param page org.jsoup.nodes.Document the page loaded
+	 */
+	private void addToHistory(Document page) {
+		while (history.size() > historyIndex + 1) {
+			history.remove(history.size() - 1);
+		}
+		history.add(page);
+		historyIndex++;
+		show(historyIndex);
+	}
+
+	/**
+	 * Makes a fresh copy of a page in the history the current document, so that changes made to the
+	 * page the last time it was shown are gone and elements found on it then are stale.
+	 *
+	 * @param index int the position of the page in the history
+	 */
+	private void show(int index) {
+		document = history.get(index).clone();
+	}
+
+	/**
+	 * Parses the page at the URL passed.
+	 *
+	 * @param url String the URL to load
+	 * @return org.jsoup.nodes.Document the parsed page
+	 * @throws WebDriverException if the page cannot be loaded
+	 */
+	private static Document load(String url) {
+		log.trace("Loading {} into memory", url);
+		try {
+			URI uri = new URI(url);
+			String scheme = uri.getScheme() == null ? "" : uri.getScheme().toLowerCase();
+			switch (scheme) {
+			case "about":
+				return Jsoup.parse("", url);
+			case "file":
+				return Jsoup.parse(new File(uri.getPath()), "UTF-8", url);
+			case "http":
+			case "https":
+				return Jsoup.connect(url).get();
+			default:
+				throw new WebDriverException("The in memory driver cannot load " + url + ". Only file, http, https and about:blank URLs are supported.");
+			}
+		} catch (URISyntaxException | IllegalArgumentException | IOException e) {
+			throw new WebDriverException("The in memory driver could not load " + url + ": " + e.getMessage(), e);
+		}
+	}
+
+	private void checkOpen() {
+		if (!open) {
+			throw new NoSuchWindowException("The in memory driver's window has been closed.");
+		}
+	}
+
+	private class InMemoryNavigation implements Navigation {
+		@Override
+		public void back() {
+			checkOpen();
+			if (historyIndex > 0) {
+				historyIndex--;
+				show(historyIndex);
+			}
+		}
+
+		@Override
+		public void forward() {
+			checkOpen();
+			if (historyIndex < history.size() - 1) {
+				historyIndex++;
+				show(historyIndex);
+			}
+		}
+
+		@Override
+		public void to(String url) {
+			get(url);
+		}
+
+		@Override
+		public void to(URL url) {
+			get(url.toString());
+		}
+
+		@Override
+		public void refresh() {
+			checkOpen();
+			if (historyIndex != -1) {
+				show(historyIndex);
+			}
+		}
+	}
+
+	private class InMemoryTargetLocator implements TargetLocator {
+		@Override
+		public WebDriver frame(int index) {
+			throw new NoSuchFrameException("The in memory driver does not support frames.");
+		}
+
+		@Override
+		public WebDriver frame(String nameOrId) {
+			throw new NoSuchFrameException("The in memory driver does not support frames.");
+		}
+
+		@Override
+		public WebDriver frame(WebElement frameElement) {
+			throw new NoSuchFrameException("The in memory driver does not support frames.");
+		}
+
+		@Override
+		public WebDriver parentFrame() {
+			return InMemoryWebDriver.this;
+		}
+
+		@Override
+		public WebDriver window(String nameOrHandle) {
+			checkOpen();
+			if (!WINDOW_HANDLE.equals(nameOrHandle)) {
+				throw new NoSuchWindowException("No window found with the handle " + nameOrHandle);
+			}
+			return InMemoryWebDriver.this;
+		}
+
+		@Override
+		public WebDriver defaultContent() {
+			return InMemoryWebDriver.this;
+		}
+
+		@Override
+		public WebElement activeElement() {
+			return new InMemoryWebElement(InMemoryWebDriver.this, getDocument().body());
+		}
+
+		@Override
+		public Alert alert() {
+			throw new NoAlertPresentException("The in memory driver does not support alerts.");
+		}
+	}
+
+	private class InMemoryOptions implements Options {
+		@Override
+		public void addCookie(Cookie cookie) {
+			throw new UnsupportedCommandException("The in memory driver does not support cookies.");
+		}
+
+		@Override
+		public void deleteCookieNamed(String name) {
+			// There are no cookies to delete.
+		}
+
+		@Override
+		public void deleteCookie(Cookie cookie) {
+			// There are no cookies to delete.
+		}
+
+		@Override
+		public void deleteAllCookies() {
+			// There are no cookies to delete.
+		}
+
+		@Override
+		public Set<Cookie> getCookies() {
+			return Collections.emptySet();
+		}
+
+		@Override
+		public Cookie getCookieNamed(String name) {
+			return null;
+		}
+
+		@Override
+		public Timeouts timeouts() {
+			return new InMemoryTimeouts();
+		}
+
+		@Override
+		public ImeHandler ime() {
+			throw new UnsupportedCommandException("The in memory driver does not support input methods.");
+		}
+
+		@Override
+		public Window window() {
+			return new InMemoryWindow();
+		}
+
+		@Override
+		public Logs logs() {
+			throw new UnsupportedCommandException("The in memory driver does not keep logs.");
+		}
+	}
+
+	/**
+	 * Pages load synchronously and there are no scripts, so there is nothing to time out.
+	 */
+	private class InMemoryTimeouts implements Timeouts {
+		@Override
+		public Timeouts implicitlyWait(long time, TimeUnit unit) {
+			return this;
+		}
+
+		@Override
+		public Timeouts setScriptTimeout(long time, TimeUnit unit) {
+			return this;
+		}
+
+		@Override
+		public Timeouts pageLoadTimeout(long time, TimeUnit unit) {
+			return this;
+		}
+	}
+
+	/**
+	 * There is no window to size or move, so these calls do nothing.
+	 */
+	private class InMemoryWindow implements Window {
+		@Override
+		public void setSize(Dimension targetSize) {
+			// Nothing is rendered.
+		}
+
+		@Override
+		public void setPosition(Point targetPosition) {
+			// Nothing is rendered.
+		}
+
+		@Override
+		public Dimension getSize() {
+			return new Dimension(0, 0);
+		}
+
+		@Override
+		public Point getPosition() {
+			return new Point(0, 0);
+		}
+
+		@Override
+		public void maximize() {
+			// Nothing is rendered.
+		}
+
+		@Override
+		public void fullscreen() {
+			// Nothing is rendered.
+		}
+
+		public void minimize() {
+			// Nothing is rendered.
+		}
+	}
+}
@@ -0,0 +1,345 @@
+package com.dougnoel.sentinel.webdrivers;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.internal.FindsByClassName;
+import org.openqa.selenium.internal.FindsByCssSelector;
+import org.openqa.selenium.internal.FindsById;
+import org.openqa.selenium.internal.FindsByLinkText;
+import org.openqa.selenium.internal.FindsByName;
+import org.openqa.selenium.internal.FindsByTagName;
+import org.openqa.selenium.internal.FindsByXPath;
+
+/**
+ * A WebElement backed by an element in the document loaded by an InMemoryWebDriver. Text,
+ * attributes, typing into form fields, and clicking links, check boxes, radio buttons and options
+ * are supported. There is no layout, so locations and sizes are always zero. Using an element after
+ * the driver has loaded another document throws a StaleElementReferenceException, the same as
+ * a browser driver.
+ */
+// By in Selenium 3 finds elements through the deprecated FindsBy interfaces, so they have to be implemented.
+@SuppressWarnings("deprecation")
+public class InMemoryWebElement implements WebElement, FindsByClassName, FindsByCssSelector, FindsById,
+		FindsByLinkText, FindsByName, FindsByTagName, FindsByXPath {
+	private static final Set<String> BOOLEAN_ATTRIBUTES = new HashSet<>(Arrays.asList(
+			"checked", "disabled", "hidden", "multiple", "readonly", "required", "selected"));
+
+	private final InMemoryWebDriver driver;
+	private final Document document;
+	private final Element element;
+
+	InMemoryWebElement(InMemoryWebDriver driver, Element element) {
+		this.driver = driver;
+		this.document = element.ownerDocument();
+		this.element = element;
+	}
+
+	/**
+	 * Returns the parsed HTML element, after making sure the driver is still on the document it came from.
+	 *
+	 * @return org.jsoup.nodes.Element the parsed element
+	 * @throws StaleElementReferenceException if the driver has loaded another document
+	 */
+	private Element element() {
+		if (driver.getDocument() != document) {
+			throw new StaleElementReferenceException("The element is no longer attached to the document: " + element.cssSelector());
+		}
+		return element;
+	}
+
+	@Override
+	public void click() {
+		Element e = element();
+		String tagName = e.normalName();
+		String type = e.attr("type").toLowerCase(Locale.ENGLISH);
+		if ("a".equals(tagName) && e.hasAttr("href")) {
+			driver.get(e.absUrl("href").isEmpty() ? e.attr("href") : e.absUrl("href"));
+		} else if ("input".equals(tagName) && "checkbox".equals(type)) {
+			setBooleanAttribute(e, "checked", !e.hasAttr("checked"));
+		} else if ("input".equals(tagName) && "radio".equals(type)) {
+			for (Element radio : document.select("input[type=radio]")) {
+				if (radio.attr("name").equals(e.attr("name"))) {
+					radio.removeAttr("checked");
+				}
+			}
+			e.attr("checked", true);
+		} else if ("option".equals(tagName)) {
+			Element select = e.closest("select");
+			if (select != null && !select.hasAttr("multiple")) {
+				select.getElementsByTag("option").forEach(option -> option.removeAttr("selected"));
+				e.attr("selected", true);
+			} else {
+				setBooleanAttribute(e, "selected", !e.hasAttr("selected"));
+			}
+		}
+	}
+
+	@Override
+	public void submit() {
+		// There is no server behind the document to submit a form to.
+		element();
+	}
+
+	@Override
+	public void sendKeys(CharSequence... keysToSend) {
+		Element e = element();
+		StringBuilder text = new StringBuilder(getValue(e));
+		for (CharSequence keys : keysToSend) {
+			keys.chars()
+				// Characters from org.openqa.selenium.Keys are in the private use area and do not type anything.
+				.filter(c -> c < 0xE000 || c > 0xF8FF)
+				.forEach(c -> text.append((char) c));
+		}
+		setValue(e, text.toString());
+	}
+
+	@Override
+	public void clear() {
+		setValue(element(), "");
+	}
+
+	@Override
+	public String getTagName() {
+		return element().normalName();
+	}
+
+	@Override
+	public String getAttribute(String name) {
+		Element e = element();
+		String attribute = name.toLowerCase(Locale.ENGLISH);
+		if ("value".equals(attribute)) {
+			return getValue(e);
+		}
+		if (BOOLEAN_ATTRIBUTES.contains(attribute)) {
+			return e.hasAttr(attribute) ? "true" : null;
+		}
+		return e.hasAttr(attribute) ? e.attr(attribute) : null;
+	}
+
+	@Override
+	public boolean isSelected() {
+		Element e = element();
+		return e.hasAttr("checked") || e.hasAttr("selected");
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return !element().hasAttr("disabled");
+	}
+
+	@Override
+	public String getText() {
+		Element e = element();
+		return isDisplayed(e) ? e.text() : "";
+	}
+
+	@Override
+	public List<WebElement> findElements(By by) {
+		return by.findElements(this);
+	}
+
+	@Override
+	public WebElement findElement(By by) {
+		return InMemorySearchContext.first(findElements(by), by.toString());
+	}
+
+	@Override
+	public boolean isDisplayed() {
+		return isDisplayed(element());
+	}
+
+	@Override
+	public Point getLocation() {
+		element();
+		return new Point(0, 0);
+	}
+
+	@Override
+	public Dimension getSize() {
+		element();
+		return new Dimension(0, 0);
+	}
+
+	public Rectangle getRect() {
+		element();
+		return new Rectangle(0, 0, 0, 0);
+	}
+
+	@Override
+	public String getCssValue(String propertyName) {
+		for (String declaration : element().attr("style").split(";")) {
+			String[] parts = declaration.split(":", 2);
+			if (parts.length == 2 && parts[0].trim().equalsIgnoreCase(propertyName)) {
+				return parts[1].trim();
+			}
+		}
+		return "";
+	}
+
+	@Override
+	public <X> X getScreenshotAs(OutputType<X> target) {
+		throw new UnsupportedCommandException("The in memory driver does not render pages, so it cannot take screenshots.");
+	}
+
+	@Override
+	public WebElement findElementByClassName(String using) {
+		return InMemorySearchContext.first(findElementsByClassName(using), "class name " + using);
+	}
+
+	@Override
+	public List<WebElement> findElementsByClassName(String using) {
+		return InMemorySearchContext.byClassName(driver, element(), using);
+	}
+
+	@Override
+	public WebElement findElementByCssSelector(String using) {
+		return InMemorySearchContext.first(findElementsByCssSelector(using), "css selector " + using);
+	}
+
+	@Override
+	public List<WebElement> findElementsByCssSelector(String using) {
+		return InMemorySearchContext.byCssSelector(driver, element(), using);
+	}
+
+	@Override
+	public WebElement findElementById(String using) {
+		return InMemorySearchContext.first(findElementsById(using), "id " + using);
+	}
+
+	@Override
+	public List<WebElement> findElementsById(String using) {
+		return InMemorySearchContext.byId(driver, element(), using);
+	}
+
+	@Override
+	public WebElement findElementByLinkText(String using) {
+		return InMemorySearchContext.first(findElementsByLinkText(using), "link text " + using);
+	}
+
+	@Override
+	public List<WebElement> findElementsByLinkText(String using) {
+		return InMemorySearchContext.byLinkText(driver, element(), using, false);
+	}
+
+	@Override
+	public WebElement findElementByPartialLinkText(String using) {
+		return InMemorySearchContext.first(findElementsByPartialLinkText(using), "partial link text " + using);
+	}
+
+	@Override
+	public List<WebElement> findElementsByPartialLinkText(String using) {
+		return InMemorySearchContext.byLinkText(driver, element(), using, true);
+	}
+
+	@Override
+	public WebElement findElementByName(String using) {
+		return InMemorySearchContext.first(findElementsByName(using), "name " + using);
+	}
+
+	@Override
+	public List<WebElement> findElementsByName(String using) {
+		return InMemorySearchContext.byName(driver, element(), using);
+	}
+
+	@Override
+	public WebElement findElementByTagName(String using) {
+		return InMemorySearchContext.first(findElementsByTagName(using), "tag name " + using);
+	}
+
+	@Override
+	public List<WebElement> findElementsByTagName(String using) {
+		return InMemorySearchContext.byTagName(driver, element(), using);
+	}
+
+	@Override
+	public WebElement findElementByXPath(String using) {
+		return InMemorySearchContext.first(findElementsByXPath(using), "xpath " + using);
+	}
+
+	@Override
+	public List<WebElement> findElementsByXPath(String using) {
+		return InMemorySearchContext.byXPath(driver, element(), using);
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		return other instanceof InMemoryWebElement && ((InMemoryWebElement) other).element == element;
+	}
+
+	@Override
+	public int hashCode() {
+		return System.identityHashCode(element);
+	}
+
+	@Override
+	public String toString() {
+		return "[InMemoryWebElement " + element.cssSelector() + "]";
+	}
+
+	/**
+	 * Returns false if the element or one of its ancestors is hidden with the hidden attribute, an
+	 * inline display:none or visibility:hidden style, or is a hidden input.
+	 *
+	 * @param e org.jsoup.nodes.Element the element to check
+	 * @return boolean true if nothing hides the element, false otherwise
+	 */
+	private static boolean isDisplayed(Element e) {
+		if ("input".equals(e.normalName()) && "hidden".equalsIgnoreCase(e.attr("type"))) {
+			return false;
+		}
+		for (Element current = e; current != null; current = current.parent()) {
+			String style = current.attr("style").replaceAll("\\s+", "").toLowerCase(Locale.ENGLISH);
+			if (current.hasAttr("hidden") || style.contains("display:none") || style.contains("visibility:hidden")) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static String getValue(Element e) {
+		if ("textarea".equals(e.normalName())) {
+			return e.wholeText();
+		}
+		if ("select".equals(e.normalName())) {
+			Element selected = e.selectFirst("option[selected]");
+			if (selected == null) {
+				selected = e.selectFirst("option");
+			}
+			return selected == null ? "" : getValue(selected);
+		}
+		if ("option".equals(e.normalName()) && !e.hasAttr("value")) {
+			return e.text();
+		}
+		return e.attr("value");
+	}
+
+	private static void setValue(Element e, String value) {
+		if ("textarea".equals(e.normalName())) {
+			e.text(value);
+		} else {
+			e.attr("value", value);
+		}
+	}
+
+	private static void setBooleanAttribute(Element e, String attribute, boolean value) {
+		if (value) {
+			e.attr(attribute, true);
+		} else {
+			e.removeAttr(attribute);
+		}
+	}
+}
@@ -1,5 +1,8 @@
 package com.dougnoel.sentinel.webdrivers;
 
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
@@ -39,6 +42,7 @@ import com.dougnoel.sentinel.strings.SentinelStringUtils;
  * (<a href="https://www.seleniumhq.org/download/">Internet Explorer Driver
  * Server</a> 3.12.0)</li>
  * <li>Safari (Safaridriver 10) (Comes installed on OS X)
+ * <li>In Memory (no browser, see {@link InMemoryWebDriver})</li>
  * </ul>
  * <p>
  * <b>Supported Operating Systems:</b>
@@ -47,12 +51,23 @@ import com.dougnoel.sentinel.strings.SentinelStringUtils;
  * <li>OS X (Chrome/Firefox/Safari)</li>
  * <li>Windows (Chrome/Firefox/Internet Explorer</li>
  * </ul>
+ * <p>
+ * <b>Parallel Execution:</b>
+ * Each thread gets its own driver, so scenarios running in parallel never share a browser.
+ * Once instantiateWebDriver() has been called on any thread, the first call to getWebDriver()
+ * on a new thread creates a driver for that thread. Call quitAll() at the end of the run to
+ * close every driver that was created. If driverPoolSize is set, drivers are borrowed from a
+ * {@link WebDriverPool} instead, and release() gives a thread's driver back to the pool at the
+ * end of a scenario.
  */
 public class WebDriverFactory {
     private static final Logger log = LogManager.getLogger(WebDriverFactory.class); // Create a logger.
-    private static WebDriver driver = null;
+    // One driver per thread, so that scenarios running in parallel each drive their own browser.
+    private static final ThreadLocal<WebDriver> driver = new ThreadLocal<>();
+    // Every driver that has been created and not yet quit, across all threads.
+    private static final Set<WebDriver> drivers = ConcurrentHashMap.newKeySet();
 
-    private static WebDriverFactory instance = null;
+    private static volatile WebDriverFactory instance = null;
     
     private static final String LINUX = "linux";
     private static final String MAC = "mac";
@@ -81,11 +96,39 @@ public class WebDriverFactory {
             instance = new WebDriverFactory();
         }
         
+        WebDriver newDriver;
+        if (WebDriverPool.isEnabled()) {
+        	release();
+        	WebDriverPool.prewarm();
+        	newDriver = WebDriverPool.borrow();
+        } else {
+        	newDriver = createTrackedWebDriver();
+        }
+        driver.set(newDriver);
+        return newDriver;
+    }
+
+    /**
+     * Creates a new WebDriver and keeps track of it so that quitAll() can quit it.
+     * 
+     * @return WebDriver a new Selenium WebDriver
+     */
+    static WebDriver createTrackedWebDriver() {
+        WebDriver newDriver = createWebDriver();
+        drivers.add(newDriver);
+        return newDriver;
+    }
+
+    /**
+     * Creates a new WebDriver for the browser set in the configuration file or on the command line.
+     * 
+     * @return WebDriver a new Selenium WebDriver
+     */
+    private static WebDriver createWebDriver() {
         //Saucelabs Driver setup
         String saucelabsUserName = ConfigurationManager.getOptionalProperty("saucelabsUserName");
         if (saucelabsUserName != null) {
-        	driver = SauceLabsDriverFactory.createSaucelabsDriver(); //NOTE: Returning the driver here so that we do not need an extra else statement.
-        	return driver;
+        	return SauceLabsDriverFactory.createSaucelabsDriver(); //NOTE: Returning the driver here so that we do not need an extra else statement.
         }
 
         // Set a Download Directory if one was specified on the command line
@@ -101,28 +144,26 @@ public class WebDriverFactory {
         case "chrome":
         	String headless = ConfigurationManager.getOptionalProperty("headless");
         	if (headless == null || headless.equalsIgnoreCase("false"))
-        		driver = ChromeDriverFactory.createChromeDriver();
+        		return ChromeDriverFactory.createChromeDriver();
         	else
-        		driver = ChromeDriverFactory.createHeadlessChromeDriver();
-            break;
+        		return ChromeDriverFactory.createHeadlessChromeDriver();
         case "firefox":
-        	driver = FirefoxDriverFactory.createFirefoxDriver();
-            break;
+        	return FirefoxDriverFactory.createFirefoxDriver();
         case "internetexplorer":
-        	driver = createInternetExplorerDriver();
-            break;
+        	return createInternetExplorerDriver();
         case "safari":
-        	driver = createSafariDriver();
-            break;
+        	return createSafariDriver();
+        case "inmemory":
+        	return new InMemoryWebDriver();
         default:
             throw new WebDriverException(SentinelStringUtils.format("Invalid browser type '{}' passed to WebDriverFactory. Could not resolve the reference. Check your spelling. Refer to the Javadoc for valid options.", browser));
         }
-
-        return driver;
     }
 
     /**
-     * Returns the WebDriver instance. This will silently log an error if the WebDriver has not been instantiated yet.
+     * Returns the WebDriver instance for the current thread. This will silently log an error if the WebDriver has not been instantiated yet.
+     * If a driver has been instantiated on another thread, but not this one (or this thread's driver has been quit), a new driver is
+     * created for this thread.
      * 
      * @return WebDriver the created Selenium WebDriver
      */
@@ -130,8 +171,71 @@ public class WebDriverFactory {
         if (instance == null) {
         	String errorMessage = "WebDriver has not been created. Call WebDriver.instantiateWebDriver() before calling WebDriver.getWebDriver";
         	log.error(errorMessage);
+        	return null;
+        }
+        WebDriver currentDriver = driver.get();
+        if (currentDriver == null || !drivers.contains(currentDriver)) {
+        	log.debug("Creating a WebDriver for thread {}", Thread.currentThread().getName());
+        	currentDriver = instantiateWebDriver();
+        }
+        return currentDriver;
+    }
+
+    /**
+     * Quits the current thread's driver, if it has one. The next call to getWebDriver() on this thread will create a new driver.
+     */
+    public static void quit() {
+        WebDriver currentDriver = driver.get();
+        driver.remove();
+        if (WebDriverPool.owns(currentDriver)) {
+        	WebDriverPool.discard(currentDriver);
+        } else if (currentDriver != null) {
+        	quitDriver(currentDriver);
+        }
+    }
+
+    /**
+     * Gives the current thread's driver back to the WebDriverPool, which resets it for the next scenario.
+     * Does nothing if the driver did not come from the pool.
+     * 
+     * @return boolean true if a driver was returned to the pool
+     */
+    public static boolean release() {
+        WebDriver currentDriver = driver.get();
+        if (!WebDriverPool.owns(currentDriver)) {
+        	return false;
+        }
+        driver.remove();
+        WebDriverPool.release(currentDriver);
+        return true;
+    }
+
+    /**
+     * Quits every driver created on any thread, including drivers waiting in the WebDriverPool.
+     * Should be used at the end of a test run only.
+     */
+    public static void quitAll() {
+        driver.remove();
+        WebDriverPool.clear();
+        for (WebDriver createdDriver : drivers) {
+        	quitDriver(createdDriver);
+        }
+    }
+
+    /**
+     * Quits the driver passed and stops tracking it, logging a warning instead of failing if it cannot be quit.
+     * 
+     * @param driverToQuit WebDriver the driver to quit
+     */
+    static void quitDriver(WebDriver driverToQuit) {
+        if (!drivers.remove(driverToQuit)) {
+        	return;
+        }
+        try {
+        	driverToQuit.quit();
+        } catch (org.openqa.selenium.WebDriverException e) {
+        	log.warn("Could not quit driver {}: {}", driverToQuit, e.getMessage());
         }
-        return driver;
     }
     
     /**
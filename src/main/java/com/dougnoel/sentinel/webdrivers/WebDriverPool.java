@@ -0,0 +1,309 @@
+package com.dougnoel.sentinel.webdrivers;
+
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import com.dougnoel.sentinel.configurations.ConfigurationManager;
+import com.dougnoel.sentinel.exceptions.WebDriverException;
+import com.dougnoel.sentinel.strings.SentinelStringUtils;
+
+/**
+ * A bounded pool of drivers that are started ahead of time and lent to scenarios, so that the
+ * cost of starting a browser is paid once per driver instead of once per scenario. The pool is
+ * turned on by setting the driverPoolSize configuration property to the number of drivers to
+ * keep, which is usually the number of scenarios run in parallel.
+ * <p>
+ * When a driver is returned it is reset for the next scenario: cookies, localStorage and
+ * sessionStorage are cleared for the page open in each of its windows, every window but the one
+ * the scenario was using is closed, and it is sent to about:blank. WebDriver can only clear these
+ * for the site a window is on, so sites the scenario left before it ended, such as a single sign
+ * on page it was redirected through, keep their cookies. Setting driverPoolReset to replace quits
+ * every returned driver instead and starts a new one in the background, which keeps scenarios
+ * fully apart at the cost of starting more browsers. A driver that cannot be reset, or that does
+ * not respond when it is borrowed, is quit and replaced with a new one.
+ */
+public class WebDriverPool {
+	private static final Logger log = LogManager.getLogger(WebDriverPool.class); // Create a logger.
+
+	private static final String ABOUT_BLANK = "about:blank";
+	private static final String CLEAR_STORAGE_SCRIPT = "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}";
+	private static final long BORROW_TIMEOUT_MINUTES = 5;
+
+	// Drivers that have been reset and are waiting to be borrowed.
+	private static final BlockingDeque<WebDriver> idle = new LinkedBlockingDeque<>();
+	// Every driver that belongs to the pool, whether it is idle or lent out.
+	private static final Set<WebDriver> pooled = ConcurrentHashMap.newKeySet();
+	// The number of drivers created or being created, which never goes over the pool size.
+	private static final AtomicInteger reserved = new AtomicInteger();
+	// Incremented when the pool is cleared, so drivers still starting for the old pool are not kept.
+	private static final AtomicInteger generation = new AtomicInteger();
+
+	private WebDriverPool() {
+		// Exists to defeat instantiation.
+	}
+
+	/**
+	 * Returns the number of drivers the pool may hold, or 0 if the pool is turned off.
+	 *
+	 * @return int the driverPoolSize configuration value
+	 */
+	public static int getSize() {
+		String size = ConfigurationManager.getOptionalProperty("driverPoolSize");
+		return StringUtils.isNumeric(size) ? Integer.parseInt(size) : 0;
+	}
+
+	/**
+	 * Returns true if driverPoolSize is set to more than zero.
+	 *
+	 * @return boolean true if drivers should be borrowed from the pool
+	 */
+	public static boolean isEnabled() {
+		return getSize() > 0;
+	}
+
+	/**
+	 * Starts drivers in the background until the pool is full, so that they are ready by the time
+	 * other threads ask for them.
+	 */
+	public static void prewarm() {
+		int size = getSize();
+		int currentGeneration = generation.get();
+		while (reserve(size)) {
+			Thread starter = new Thread(() -> {
+				try {
+					WebDriver driver = create();
+					if (generation.get() == currentGeneration) {
+						idle.offerLast(driver);
+					} else {
+						pooled.remove(driver);
+						WebDriverFactory.quitDriver(driver);
+					}
+				} catch (RuntimeException e) {
+					if (generation.get() == currentGeneration) {
+						reserved.decrementAndGet();
+					}
+					log.error("Could not start a driver for the pool: {}", e.getMessage());
+				}
+			}, "sentinel-driver-pool-" + reserved.get());
+			starter.setDaemon(true);
+			starter.start();
+		}
+	}
+
+	/**
+	 * Lends a driver from the pool. If no driver is idle, a new one is started as long as the pool is
+	 * not full; otherwise this waits for another scenario to return its driver. Drivers that fail a
+	 * health check are quit and replaced.
+	 *
+	 * @return WebDriver a driver that has been reset and is ready to use
+	 * @throws WebDriverException if no driver becomes available or the thread is interrupted
+	 */
+	public static WebDriver borrow() {
+		int size = getSize();
+		while (true) {
+			WebDriver driver = idle.pollFirst();
+			if (driver == null && reserve(size)) {
+				try {
+					driver = create();
+				} catch (RuntimeException e) {
+					reserved.decrementAndGet();
+					throw e;
+				}
+			}
+			if (driver == null) {
+				driver = waitForIdleDriver();
+			}
+			if (isHealthy(driver)) {
+				log.trace("Lending driver {} to thread {}", driver, Thread.currentThread().getName());
+				return driver;
+			}
+			log.warn("Driver {} failed its health check and is being replaced.", driver);
+			discard(driver);
+		}
+	}
+
+	/**
+	 * Resets a borrowed driver and makes it available to the next scenario. If the driver cannot be
+	 * reset it is quit, and a new one will be started the next time one is needed.
+	 *
+	 * @param driver WebDriver the driver being returned
+	 */
+	public static void release(WebDriver driver) {
+		if (!owns(driver)) {
+			return;
+		}
+		if (replaceOnRelease()) {
+			log.trace("Replacing driver {} so the next scenario starts with a new browser", driver);
+			discard(driver);
+			prewarm();
+			return;
+		}
+		try {
+			reset(driver);
+			idle.offerFirst(driver);
+			log.trace("Driver {} returned to the pool", driver);
+		} catch (org.openqa.selenium.WebDriverException e) {
+			log.warn("Driver {} could not be reset and is being replaced: {}", driver, e.getMessage());
+			discard(driver);
+		}
+	}
+
+	/**
+	 * Returns true if the driverPoolReset configuration property is set to replace.
+	 *
+	 * @return boolean true if returned drivers should be quit and replaced instead of reset
+	 */
+	static boolean replaceOnRelease() {
+		return "replace".equalsIgnoreCase(ConfigurationManager.getOptionalProperty("driverPoolReset"));
+	}
+
+	/**
+	 * Returns true if the driver was created by the pool.
+	 *
+	 * @param driver WebDriver the driver to check
+	 * @return boolean true if the driver belongs to the pool
+	 */
+	public static boolean owns(WebDriver driver) {
+		return driver != null && pooled.contains(driver);
+	}
+
+	/**
+	 * Quits a pooled driver and frees its place in the pool.
+	 *
+	 * @param driver WebDriver the driver to quit
+	 */
+	static void discard(WebDriver driver) {
+		idle.remove(driver);
+		if (pooled.remove(driver)) {
+			reserved.decrementAndGet();
+		}
+		WebDriverFactory.quitDriver(driver);
+	}
+
+	/**
+	 * Forgets every driver in the pool. The drivers themselves are quit by the WebDriverFactory.
+	 */
+	static void clear() {
+		generation.incrementAndGet();
+		idle.clear();
+		pooled.clear();
+		reserved.set(0);
+	}
+
+	/**
+	 * Takes one of the places in the pool if there are any left.
+	 *
+	 * @param size int the size of the pool
+	 * @return boolean true if a place was taken and a driver should be created for it
+	 */
+	private static boolean reserve(int size) {
+		int current;
+		do {
+			current = reserved.get();
+			if (current >= size) {
+				return false;
+			}
+		} while (!reserved.compareAndSet(current, current + 1));
+		return true;
+	}
+
+	private static WebDriver create() {
+		WebDriver driver = WebDriverFactory.createTrackedWebDriver();
+		pooled.add(driver);
+		log.debug("Started driver {} for the pool", driver);
+		return driver;
+	}
+
+	private static WebDriver waitForIdleDriver() {
+		log.debug("All pooled drivers are in use. Thread {} is waiting for one to be returned.", Thread.currentThread().getName());
+		try {
+			WebDriver driver = idle.pollFirst(BORROW_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+			if (driver != null) {
+				return driver;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		String errorMessage = SentinelStringUtils.format("No driver was returned to the pool within {} minutes. Make sure driverPoolSize is at least the number of scenarios run at the same time.", BORROW_TIMEOUT_MINUTES);
+		log.error(errorMessage);
+		throw new WebDriverException(errorMessage);
+	}
+
+	/**
+	 * Returns true if the driver still has a window and responds to commands.
+	 *
+	 * @param driver WebDriver the driver to check
+	 * @return boolean true if the driver can be used
+	 */
+	private static boolean isHealthy(WebDriver driver) {
+		try {
+			return !driver.getWindowHandles().isEmpty() && driver.getCurrentUrl() != null;
+		} catch (org.openqa.selenium.WebDriverException e) {
+			log.debug("Health check failed for driver {}: {}", driver, e.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Clears cookies and storage for the page in every window, closes every window but the one the
+	 * scenario was using, and loads about:blank.
+	 *
+	 * @param driver WebDriver the driver to reset
+	 */
+	private static void reset(WebDriver driver) {
+		Set<String> handles = driver.getWindowHandles();
+		if (handles.isEmpty()) {
+			throw new org.openqa.selenium.NoSuchWindowException("The driver has no windows left open.");
+		}
+		String keep = getCurrentWindow(driver);
+		if (keep == null || !handles.contains(keep)) {
+			keep = handles.iterator().next();
+		}
+		for (String handle : handles) {
+			if (!handle.equals(keep)) {
+				driver.switchTo().window(handle);
+				clearSite(driver);
+				driver.close();
+			}
+		}
+		driver.switchTo().window(keep);
+		clearSite(driver);
+		driver.get(ABOUT_BLANK);
+	}
+
+	/**
+	 * Returns the handle of the window the driver is using, or null if that window has been closed.
+	 *
+	 * @param driver WebDriver the driver to check
+	 * @return String the handle of the current window
+	 */
+	private static String getCurrentWindow(WebDriver driver) {
+		try {
+			return driver.getWindowHandle();
+		} catch (org.openqa.selenium.NoSuchWindowException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Clears the cookies, localStorage and sessionStorage of the site open in the current window.
+	 *
+	 * @param driver WebDriver the driver to clear
+	 */
+	private static void clearSite(WebDriver driver) {
+		driver.manage().deleteAllCookies();
+		if (driver instanceof JavascriptExecutor) {
+			((JavascriptExecutor) driver).executeScript(CLEAR_STORAGE_SCRIPT);
+		}
+	}
+}
@@ -111,4 +111,27 @@ public class ConfigurationManagerTests {
 	public void failToLoadPageWhenFindingUrl() throws SentinelException {
 		ConfigurationManager.getUrl("FakePageObject");
 	}
+	
+	@Test
+	public void storedValuesAreKeptPerThread() throws InterruptedException {
+		ConfigurationManager.setValue("Stored Value", "main");
+		String[] otherThreadValues = new String[2];
+		Thread other = new Thread(() -> {
+			otherThreadValues[0] = ConfigurationManager.getValue("Stored Value");
+			ConfigurationManager.setValue("Stored Value", "other");
+			otherThreadValues[1] = ConfigurationManager.getValue("Stored Value");
+		});
+		other.start();
+		other.join();
+		assertNull("Expecting another thread not to see the stored value.", otherThreadValues[0]);
+		assertEquals("Expecting another thread to see its own stored value.", "other", otherThreadValues[1]);
+		assertEquals("Expecting the stored value to be unchanged by another thread.", "main", ConfigurationManager.getValue("Stored Value"));
+	}
+
+	@Test
+	public void storedValuesAreClearedWhenTheScenarioEnds() {
+		ConfigurationManager.setValue("Stored Value", "first scenario");
+		PageManager.release();
+		assertNull("Expecting the next scenario on the thread not to see the stored value.", ConfigurationManager.getValue("Stored Value"));
+	}
 }
@@ -0,0 +1,98 @@
+package com.dougnoel.sentinel.configurations;
+
+import static org.junit.Assert.*;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.dougnoel.sentinel.exceptions.FileNotFoundException;
+import com.dougnoel.sentinel.pages.PageData;
+
+public class ElementTableTests {
+	private Map<String, PageData> pages;
+
+	private void addPage(String pageName, String include, String... elementNames) {
+		PageData pageData = new PageData();
+		pageData.include = include;
+		pageData.elements = new LinkedHashMap<>();
+		for (String elementName : elementNames) {
+			Map<String, String> selectors = new HashMap<>();
+			selectors.put("id", pageName + "_" + elementName);
+			pageData.elements.put(elementName, selectors);
+		}
+		pages.put(pageName, pageData);
+	}
+
+	private ElementTable build(String pageName) {
+		return ElementTable.build(pageName, name -> {
+			PageData pageData = pages.get(name);
+			if (pageData == null) {
+				throw new FileNotFoundException(name + ".yml");
+			}
+			return pageData;
+		});
+	}
+
+	@Before
+	public void setUp() {
+		pages = new HashMap<>();
+	}
+
+	@Test
+	public void findElementsInIncludedPages() {
+		addPage("Main", "Header, Footer", "title");
+		addPage("Header", "Menu", "logo");
+		addPage("Menu", null, "home_link");
+		addPage("Footer", null, "copyright");
+		ElementTable table = build("Main");
+		assertEquals("Expecting the page's own element.", "Main_title", table.getElement("title").get("id"));
+		assertEquals("Expecting an element from a nested include.", "Menu", table.getSource("home_link"));
+		assertEquals("Expecting an element from the second include.", "Footer_copyright", table.getElement("copyright").get("id"));
+		assertNull("Expecting nothing for an element that is not defined.", table.getElement("missing"));
+		assertTrue("Expecting no warnings.", table.getWarnings().isEmpty());
+	}
+
+	@Test
+	public void firstDefinitionWinsAndShadowingIsReported() {
+		addPage("Main", "Header,Footer", "logo");
+		addPage("Header", null, "logo", "search");
+		addPage("Footer", null, "search");
+		ElementTable table = build("Main");
+		assertEquals("Expecting the page's own element to win.", "Main_logo", table.getElement("logo").get("id"));
+		assertEquals("Expecting the first include to win.", "Header_search", table.getElement("search").get("id"));
+		assertEquals("Expecting both hidden elements to be reported.", 2, table.getWarnings().size());
+	}
+
+	@Test
+	public void includeCyclesAreReported() {
+		addPage("Main", "Modal", "title");
+		addPage("Modal", "Main", "close_button");
+		ElementTable table = build("Main");
+		assertEquals("Expecting elements from both pages.", 2, table.getElements().size());
+		assertEquals("Expecting the cycle to be reported.", 1, table.getWarnings().size());
+		assertTrue("Expecting the cycle in the warning.", table.getWarnings().get(0).contains("Main -> Modal -> Main"));
+	}
+
+	@Test
+	public void sharedIncludesAreNotCycles() {
+		addPage("Main", "Header,Sidebar", "title");
+		addPage("Header", "Footer", "logo");
+		addPage("Sidebar", "Footer", "menu");
+		addPage("Footer", null, "copyright");
+		ElementTable table = build("Main");
+		assertEquals("Expecting every element.", 4, table.getElements().size());
+		assertTrue("Expecting no warnings for an include used twice.", table.getWarnings().isEmpty());
+	}
+
+	@Test
+	public void missingIncludesAreReported() {
+		addPage("Main", "DoesNotExist", "title");
+		ElementTable table = build("Main");
+		assertNotNull("Expecting the page's own element.", table.getElement("title"));
+		assertEquals("Expecting the missing include to be reported.", 1, table.getWarnings().size());
+	}
+}
@@ -0,0 +1,45 @@
+package com.dougnoel.sentinel.configurations;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.Test;
+
+import com.dougnoel.sentinel.exceptions.FileNotFoundException;
+import com.dougnoel.sentinel.pages.PageData;
+
+public class PageObjectIndexTests {
+	private static final String PAGE_NAME = "MockTestPage";
+
+	@Test
+	public void findPageObjectFile() {
+		Path path = PageObjectIndex.getPath(PAGE_NAME);
+		assertNotNull("Expecting the page object to be on the file system.", path);
+		assertEquals("Expecting the page object file.", PAGE_NAME + ".yml", path.getFileName().toString());
+		assertTrue("Expecting the page object to be listed.", PageObjectIndex.getPageObjects().containsKey(PAGE_NAME));
+	}
+
+	@Test
+	public void reusePageDataUntilTheFileChanges() throws IOException {
+		PageData pageData = PageObjectIndex.getPageData(PAGE_NAME);
+		assertSame("Expecting the page data to be parsed once.", pageData, PageObjectIndex.getPageData(PAGE_NAME));
+
+		Path path = PageObjectIndex.getPath(PAGE_NAME);
+		FileTime lastModified = Files.getLastModifiedTime(path);
+		try {
+			Files.setLastModifiedTime(path, FileTime.fromMillis(lastModified.toMillis() + 2000));
+			assertNotSame("Expecting the page data to be parsed again after the file changes.", pageData, PageObjectIndex.getPageData(PAGE_NAME));
+		} finally {
+			Files.setLastModifiedTime(path, lastModified);
+		}
+	}
+
+	@Test(expected = FileNotFoundException.class)
+	public void failToFindMissingPageObject() {
+		PageObjectIndex.getPageData("FakePageObject");
+	}
+}
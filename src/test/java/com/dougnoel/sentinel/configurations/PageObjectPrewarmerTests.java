@@ -0,0 +1,67 @@
+package com.dougnoel.sentinel.configurations;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PageObjectPrewarmerTests {
+	private static final String PAGE_NAME = "PrewarmProblemsPage";
+	private static String originalPackages = null;
+
+	@Before
+	public void setUp() {
+		originalPackages = System.getProperty("pageObjectPackages");
+	}
+
+	@After
+	public void tearDown() {
+		if (originalPackages == null) {
+			System.clearProperty("pageObjectPackages");
+		} else {
+			System.setProperty("pageObjectPackages", originalPackages);
+		}
+	}
+
+	private static boolean containsProblem(List<String> problems, String text) {
+		return problems.stream().anyMatch(problem -> problem.contains(text));
+	}
+
+	@Test
+	public void badSelectorIsReported() {
+		List<String> problems = PageObjectPrewarmer.load(PAGE_NAME);
+		assertTrue("Expecting the malformed xpath to be reported: " + problems, containsProblem(problems, "Fix the broken_xpath element in PrewarmProblemsPage.yml:"));
+		assertFalse("Expecting the valid element not to be reported: " + problems, containsProblem(problems, "username_field"));
+	}
+
+	@Test
+	public void elementsWithoutSelectorsAreReported() {
+		List<String> problems = PageObjectPrewarmer.load(PAGE_NAME);
+		assertTrue("Expecting an element with only an element type to be reported: " + problems, problems.contains("The untyped_field element in PrewarmProblemsPage.yml has no selectors."));
+		assertTrue("Expecting an element with nothing in it to be reported: " + problems, problems.contains("The empty_field element in PrewarmProblemsPage.yml has no selectors."));
+		assertEquals("Expecting one problem for each broken element: " + problems, 3, problems.size());
+	}
+
+	@Test
+	public void missingPageObjectIsReported() {
+		List<String> problems = PageObjectPrewarmer.load("FakePageObject");
+		assertEquals("Expecting one problem: " + problems, 1, problems.size());
+		assertTrue("Expecting the page object to be named: " + problems, problems.get(0).startsWith("The FakePageObject page object could not be loaded:"));
+	}
+
+	@Test
+	public void loadOnlyConfiguredPackages() {
+		System.setProperty("pageObjectPackages", "com.dougnoel.sentinel.configurations");
+		List<String> pageNames = PageObjectPrewarmer.getPageNames();
+		assertTrue("Expecting page objects in the configured package.", pageNames.contains(PAGE_NAME) && pageNames.contains("MockTestPage"));
+		assertFalse("Expecting page objects in other packages to be left out.", pageNames.contains("GuineaPigPage"));
+
+		System.setProperty("pageObjectPackages", "pages, com.dougnoel.sentinel.elements");
+		pageNames = PageObjectPrewarmer.getPageNames();
+		assertTrue("Expecting page objects in every configured package.", pageNames.contains("GuineaPigPage") && pageNames.contains("Elements"));
+		assertFalse("Expecting page objects in other packages to be left out.", pageNames.contains(PAGE_NAME));
+	}
+}
@@ -0,0 +1,79 @@
+package com.dougnoel.sentinel.configurations;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.dougnoel.sentinel.pages.PageData;
+
+public class PageObjectSnapshotTests {
+
+	private static PageData createPageData() {
+		PageData pageData = new PageData();
+		pageData.urls = new LinkedHashMap<>();
+		pageData.urls.put("default", "http://{env}.dougnoel.com/");
+		Map<String, String> account = new LinkedHashMap<>();
+		account.put("username", "DefaultUser");
+		account.put("password", null);
+		Map<String, Map<String, String>> accounts = new LinkedHashMap<>();
+		accounts.put("default", account);
+		pageData.accounts = new LinkedHashMap<>();
+		pageData.accounts.put("stage", accounts);
+		Map<String, String> selectors = new LinkedHashMap<>();
+		selectors.put("xpath", "//a[text()='Résumé']");
+		selectors.put("css", "a.resume");
+		selectors.put("id", "resume");
+		pageData.elements = new LinkedHashMap<>();
+		pageData.elements.put("resume_link", selectors);
+		pageData.include = "Header,Footer";
+		return pageData;
+	}
+
+	@Before
+	public void setUp() {
+		PageObjectSnapshot.useTransientStore();
+	}
+
+	@After
+	public void tearDown() {
+		PageObjectSnapshot.useTransientStore();
+	}
+
+	@Test
+	public void encodeAndDecodePageData() {
+		PageData pageData = createPageData();
+		PageData decoded = PageObjectSnapshot.decode(ByteBuffer.wrap(PageObjectSnapshot.encode(pageData)));
+		assertEquals("Expecting the same urls.", pageData.urls, decoded.urls);
+		assertEquals("Expecting the same accounts.", pageData.accounts, decoded.accounts);
+		assertEquals("Expecting the same elements.", pageData.elements, decoded.elements);
+		assertEquals("Expecting the same include.", pageData.include, decoded.include);
+		assertEquals("Expecting the selectors in the same order.", Arrays.asList("xpath", "css", "id"), new ArrayList<>(decoded.elements.get("resume_link").keySet()));
+	}
+
+	@Test
+	public void encodeAndDecodeEmptyPageData() {
+		PageData decoded = PageObjectSnapshot.decode(ByteBuffer.wrap(PageObjectSnapshot.encode(new PageData())));
+		assertNull("Expecting no urls.", decoded.urls);
+		assertNull("Expecting no accounts.", decoded.accounts);
+		assertNull("Expecting no elements.", decoded.elements);
+		assertNull("Expecting no include.", decoded.include);
+	}
+
+	@Test
+	public void ignoreStoredDataWhenTheFileHasChanged() {
+		byte[] hash = PageObjectSnapshot.hash("original".getBytes(StandardCharsets.UTF_8));
+		PageObjectSnapshot.put("PageObjectSnapshotTestPage", hash, createPageData());
+		assertNotNull("Expecting the stored page data.", PageObjectSnapshot.get("PageObjectSnapshotTestPage", hash));
+		assertNull("Expecting nothing for a file with different contents.",
+				PageObjectSnapshot.get("PageObjectSnapshotTestPage", PageObjectSnapshot.hash("changed".getBytes(StandardCharsets.UTF_8))));
+	}
+}
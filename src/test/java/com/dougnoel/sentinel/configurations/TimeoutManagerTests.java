@@ -1,6 +1,7 @@
 package com.dougnoel.sentinel.configurations;
 
 import static org.junit.Assert.*;
+import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 
 import org.junit.Test;
@@ -17,6 +18,26 @@ public class TimeoutManagerTests {
 		assertEquals("Default timeunit", TimeUnit.SECONDS, TimeoutManager.getDefaultTimeUnit());
 	}
 
+	@Test
+	public void waitsInAStepShareOneDeadline() {
+		Deadline deadline = TimeoutManager.startStep();
+		try {
+			assertSame("Expecting every wait in the step to use the step deadline.", deadline, TimeoutManager.getDeadline());
+			assertTrue("Expecting no more than the default timeout to be left.", deadline.remaining().compareTo(TimeoutManager.getDefaultDuration()) <= 0);
+		} finally {
+			TimeoutManager.endStep();
+		}
+		assertNotSame("Expecting a new deadline outside of a step.", deadline, TimeoutManager.getDeadline());
+	}
+
+	@Test
+	public void shorterWaitsDoNotOutlastTheStep() {
+		Deadline deadline = Deadline.after(Duration.ofSeconds(2));
+		assertSame("Expecting the step deadline when it comes first.", deadline, deadline.within(Duration.ofSeconds(5)));
+		assertTrue("Expecting a shorter deadline when the wait is shorter.", deadline.within(Duration.ofMillis(100)).remainingMillis() <= 100);
+		assertTrue("Expecting a deadline in the past to be expired.", Deadline.after(Duration.ZERO).isExpired());
+	}
+
 /* These two tests will fail unless they are the only unit tests run. Thre's no elegant way to handle this with
  * JUnit 4, so I've left them commented out but still included just in case. You will have to comment out the first
  * two tests and uncomment these to run them, and then run only this file. These values can only be set once, the
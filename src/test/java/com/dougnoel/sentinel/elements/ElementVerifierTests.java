@@ -0,0 +1,102 @@
+package com.dougnoel.sentinel.elements;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.dougnoel.sentinel.configurations.Deadline;
+import com.dougnoel.sentinel.elements.ElementVerifier.Expectation;
+import com.dougnoel.sentinel.webdrivers.WebDriverFactory;
+
+public class ElementVerifierTests {
+	private static final String TEST_PAGE = new File("src/test/java/com/dougnoel/sentinel/webdrivers/InMemoryTestPage.html").toURI().toString();
+	private static String originalBrowser = null;
+
+	@BeforeClass
+	public static void setUpBeforeAnyTestsAreRun() {
+		originalBrowser = System.getProperty("browser");
+		System.setProperty("browser", "inmemory");
+	}
+
+	@AfterClass
+	public static void tearDownAfterAllTestsAreFinished() {
+		if (originalBrowser == null) {
+			System.clearProperty("browser");
+		} else {
+			System.setProperty("browser", originalBrowser);
+		}
+	}
+
+	@Before
+	public void setUp() {
+		SelectorStatistics.useTransientStore();
+		WebDriverFactory.instantiateWebDriver().get(TEST_PAGE);
+	}
+
+	@After
+	public void tearDown() {
+		WebDriverFactory.quitAll();
+		SelectorStatistics.useTransientStore();
+	}
+
+	private static PageElement element(String name, String selectorType, String selectorValue) {
+		return new PageElement(name, Collections.singletonMap(selectorType, selectorValue));
+	}
+
+	private static List<String> verifyOnce(Expectation... expectations) {
+		return ElementVerifier.verify(Arrays.asList(expectations), Deadline.after(Duration.ZERO));
+	}
+
+	@Test
+	public void metExpectationsHaveNoFailures() {
+		List<String> failures = verifyOnce(
+				new Expectation("heading", element("heading", "id", "heading"), true, true, null, "Registration", null),
+				new Expectation("register button", element("register button", "css", "button[type='submit']"), true, true, false, null, "Regis"),
+				new Expectation("secret", element("secret", "class", "secret"), true, false, null, null, null),
+				new Expectation("missing", element("missing", "id", "doesNotExist"), false, null, null, null, null));
+		assertTrue("Expecting no failures but got: " + failures, failures.isEmpty());
+	}
+
+	@Test
+	public void textIsComparedWithWhitespaceNormalized() {
+		List<String> failures = verifyOnce(
+				new Expectation("heading", element("heading", "id", "heading"), null, null, null, "  Registration\n", " Regis tration "));
+		assertEquals("Expecting only the contains check to fail.", 1, failures.size());
+		assertTrue("Expecting the contains failure.", failures.get(0).contains("to contain the text \" Regis tration \""));
+	}
+
+	@Test
+	public void everyFailureIsReportedTogether() {
+		List<String> failures = verifyOnce(
+				new Expectation("heading", element("heading", "id", "heading"), null, false, null, "Sign Up", null),
+				new Expectation("register button", element("register button", "css", "button[type='submit']"), null, null, true, null, null));
+		assertEquals("Expecting three failures.", 3, failures.size());
+		assertEquals("Expected the heading element to not be visible.", failures.get(0));
+		assertEquals("Expected the heading element to have the text \"Sign Up\". The element contained the text: \"Registration\"", failures.get(1));
+		assertEquals("Expected the register button element to be enabled.", failures.get(2));
+	}
+
+	@Test
+	public void missingElementFailsExistsOnly() {
+		List<String> failures = verifyOnce(
+				new Expectation("missing", element("missing", "id", "doesNotExist"), true, true, true, "text", null));
+		assertEquals("Expecting a single failure once the element does not exist.", Collections.singletonList("Expected the missing element to exist."), failures);
+	}
+
+	@Test
+	public void missingElementCannotBeEnabledOrDisabled() {
+		List<String> failures = verifyOnce(
+				new Expectation("missing", element("missing", "id", "doesNotExist"), null, null, false, null, null));
+		assertEquals("Expecting the enabled check to fail for a missing element.", Collections.singletonList("Expected the missing element to be disabled. It does not exist."), failures);
+	}
+}
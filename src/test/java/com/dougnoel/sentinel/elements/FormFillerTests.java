@@ -0,0 +1,96 @@
+package com.dougnoel.sentinel.elements;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.dougnoel.sentinel.exceptions.SentinelException;
+import com.dougnoel.sentinel.webdrivers.WebDriverFactory;
+
+public class FormFillerTests {
+	private static final String TEST_PAGE = new File("src/test/java/com/dougnoel/sentinel/webdrivers/InMemoryTestPage.html").toURI().toString();
+	private static String originalBrowser = null;
+
+	@BeforeClass
+	public static void setUpBeforeAnyTestsAreRun() {
+		originalBrowser = System.getProperty("browser");
+		System.setProperty("browser", "inmemory");
+	}
+
+	@AfterClass
+	public static void tearDownAfterAllTestsAreFinished() {
+		if (originalBrowser == null) {
+			System.clearProperty("browser");
+		} else {
+			System.setProperty("browser", originalBrowser);
+		}
+	}
+
+	@Before
+	public void setUp() {
+		SelectorStatistics.useTransientStore();
+		WebDriverFactory.instantiateWebDriver().get(TEST_PAGE);
+	}
+
+	@After
+	public void tearDown() {
+		WebDriverFactory.quitAll();
+		SelectorStatistics.useTransientStore();
+	}
+
+	private static PageElement field(String name) {
+		return new PageElement(name, Collections.singletonMap("name", name));
+	}
+
+	private static String valueOf(PageElement element) {
+		return element.toWebElement().getAttribute("value");
+	}
+
+	@Test
+	public void typeIntoEveryField() {
+		PageElement firstName = field("firstName");
+		PageElement lastName = field("lastName");
+		PageElement comments = field("comments");
+		Map<PageElement, String> fields = new LinkedHashMap<>();
+		fields.put(firstName, "Bob");
+		fields.put(lastName, "Smith");
+		fields.put(comments, "Hello");
+		FormFiller.fill(fields);
+		assertEquals("Expecting the existing value to be replaced.", "Bob", valueOf(firstName));
+		assertEquals("Expecting the value typed.", "Smith", valueOf(lastName));
+		assertEquals("Expecting the value typed in a text area.", "Hello", valueOf(comments));
+	}
+
+	@Test
+	public void selectOptionByTextOrValue() {
+		PageElement state = field("state");
+		FormFiller.fill(Collections.singletonMap(state, "Virginia"));
+		assertEquals("Expecting the option with the text given to be selected.", "VA", valueOf(state));
+		FormFiller.fill(Collections.singletonMap(state, "NC"));
+		assertEquals("Expecting the option with the value given to be selected.", "NC", valueOf(state));
+	}
+
+	@Test(expected = SentinelException.class)
+	public void missingOptionFails() {
+		FormFiller.fill(Collections.singletonMap(field("state"), "Ohio"));
+	}
+
+	@Test
+	public void staleFieldIsLookedUpAgain() {
+		PageElement firstName = field("firstName");
+		firstName.toWebElement();
+		// Loading the page again replaces the document without the PageManager knowing, so the cached element is stale.
+		WebDriverFactory.getWebDriver().get(TEST_PAGE);
+		FormFiller.fill(Collections.singletonMap(firstName, "Bob"));
+		assertEquals("Expecting the value to be typed into the new field.", "Bob", valueOf(firstName));
+	}
+}
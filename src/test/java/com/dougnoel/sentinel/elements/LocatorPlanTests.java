@@ -0,0 +1,63 @@
+package com.dougnoel.sentinel.elements;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.openqa.selenium.By;
+
+import com.dougnoel.sentinel.enums.SelectorType;
+import com.dougnoel.sentinel.exceptions.MalformedSelectorException;
+import com.dougnoel.sentinel.exceptions.NoSuchSelectorException;
+
+public class LocatorPlanTests {
+
+	private static Map<SelectorType, String> createSelectors() {
+		Map<SelectorType, String> selectors = new EnumMap<>(SelectorType.class);
+		selectors.put(SelectorType.CSS, "#login");
+		selectors.put(SelectorType.ID, "login");
+		selectors.put(SelectorType.XPATH, "//button[@id='login']");
+		return selectors;
+	}
+
+	@Test
+	public void locatorsAreBuiltInOrder() {
+		LocatorPlan plan = LocatorPlan.compile("login button", createSelectors());
+		assertEquals("Expecting one locator per selector.", 3, plan.size());
+		assertEquals("Expecting the css selector first.", SelectorType.CSS, plan.getType(0));
+		assertEquals("Expecting a css locator.", By.cssSelector("#login"), plan.getLocator(0));
+		assertEquals("Expecting an xpath locator last.", By.xpath("//button[@id='login']"), plan.getLocator(2));
+	}
+
+	@Test
+	public void reorderingReusesLocators() {
+		LocatorPlan plan = LocatorPlan.compile("login button", createSelectors());
+		Map<SelectorType, String> ordered = new LinkedHashMap<>();
+		ordered.put(SelectorType.XPATH, "//button[@id='login']");
+		ordered.put(SelectorType.CSS, "#login");
+		ordered.put(SelectorType.ID, "login");
+		LocatorPlan reordered = plan.reorder(ordered);
+		assertEquals("Expecting the new order.", Arrays.asList(SelectorType.XPATH, SelectorType.CSS, SelectorType.ID), new ArrayList<>(reordered.getSelectors().keySet()));
+		assertSame("Expecting the xpath locator to be reused.", plan.getLocator(2), reordered.getLocator(0));
+		assertEquals("Expecting the original plan to be unchanged.", SelectorType.CSS, plan.getType(0));
+	}
+
+	@Test(expected = MalformedSelectorException.class)
+	public void malformedXPathFailsWhenCompiled() {
+		Map<SelectorType, String> selectors = createSelectors();
+		selectors.put(SelectorType.XPATH, "//button[@id='login'");
+		LocatorPlan.compile("login button", selectors);
+	}
+
+	@Test(expected = NoSuchSelectorException.class)
+	public void selectOptionTypeCannotLocateElements() {
+		Map<SelectorType, String> selectors = createSelectors();
+		selectors.put(SelectorType.INDEX, "1");
+		LocatorPlan.compile("login button", selectors);
+	}
+}
@@ -0,0 +1,61 @@
+package com.dougnoel.sentinel.elements;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.dougnoel.sentinel.enums.SelectorType;
+
+public class SelectorStatisticsTests {
+
+	private static Map<SelectorType, String> createSelectors() {
+		Map<SelectorType, String> selectors = new EnumMap<>(SelectorType.class);
+		selectors.put(SelectorType.CLASS, "stale-class");
+		selectors.put(SelectorType.CSS, "#stale");
+		selectors.put(SelectorType.XPATH, "//input[@id='working']");
+		return selectors;
+	}
+
+	@Before
+	public void setUp() {
+		SelectorStatistics.useTransientStore();
+	}
+
+	@After
+	public void tearDown() {
+		SelectorStatistics.useTransientStore();
+	}
+
+	@Test
+	public void keepDefaultOrderWithoutWins() {
+		Map<SelectorType, String> ordered = SelectorStatistics.order("unused element", createSelectors());
+		assertEquals("Expecting the default order.", Arrays.asList(SelectorType.CLASS, SelectorType.CSS, SelectorType.XPATH), new ArrayList<>(ordered.keySet()));
+	}
+
+	@Test
+	public void tryWinningSelectorFirst() {
+		String key = "winning element";
+		SelectorStatistics.recordWin(key, SelectorType.XPATH);
+		Map<SelectorType, String> ordered = SelectorStatistics.order(key, createSelectors());
+		assertEquals("Expecting the winning selector first and the others in the default order.", Arrays.asList(SelectorType.XPATH, SelectorType.CLASS, SelectorType.CSS), new ArrayList<>(ordered.keySet()));
+		assertEquals("Expecting the selector values to be kept.", "//input[@id='working']", ordered.get(SelectorType.XPATH));
+	}
+
+	@Test
+	public void tryLatestWinnerFirstWhenOldWinnerStopsMatching() {
+		String key = "changed element";
+		for (int i = 0; i < 500; i++) {
+			SelectorStatistics.recordWin(key, SelectorType.CSS);
+		}
+		SelectorStatistics.recordWin(key, SelectorType.XPATH);
+		Map<SelectorType, String> ordered = SelectorStatistics.order(key, createSelectors());
+		assertEquals("Expecting the latest winner first, then the old winner, then the selector that never won.", Arrays.asList(SelectorType.XPATH, SelectorType.CSS, SelectorType.CLASS), new ArrayList<>(ordered.keySet()));
+	}
+}
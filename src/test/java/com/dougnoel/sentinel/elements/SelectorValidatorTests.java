@@ -0,0 +1,40 @@
+package com.dougnoel.sentinel.elements;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.dougnoel.sentinel.enums.SelectorType;
+
+public class SelectorValidatorTests {
+
+	@Test
+	public void validSelectorsPass() {
+		assertNull("Expecting a valid xpath to pass.", SelectorValidator.validate("xpath", "//input[@id='user' and contains(@class,'a')]"));
+		assertNull("Expecting a valid css selector to pass.", SelectorValidator.validate("css", "div.menu > a[href*='login']:nth-child(2)"));
+		assertNull("Expecting quoted brackets to be ignored.", SelectorValidator.validate("css", "a[title='[)']"));
+		assertNull("Expecting a single class name to pass.", SelectorValidator.validate(SelectorType.CLASS, "menu-item"));
+		assertNull("Expecting an id to pass.", SelectorValidator.validate(SelectorType.ID, "username"));
+	}
+
+	@Test
+	public void malformedXPathIsReported() {
+		assertNotNull("Expecting an unclosed predicate to fail.", SelectorValidator.validate("xpath", "//input[@id='user'"));
+		assertNotNull("Expecting an unclosed string to fail.", SelectorValidator.validate("xpath", "//input[@id='user]"));
+	}
+
+	@Test
+	public void malformedCssIsReported() {
+		assertNotNull("Expecting an unclosed attribute selector to fail.", SelectorValidator.validate("css", "input[name='user'"));
+		assertNotNull("Expecting a mismatched parenthesis to fail.", SelectorValidator.validate("css", "li:nth-child(2]"));
+		assertNotNull("Expecting a trailing combinator to fail.", SelectorValidator.validate("css", "div >"));
+	}
+
+	@Test
+	public void unusableSelectorsAreReported() {
+		assertNotNull("Expecting an unknown selector type to fail.", SelectorValidator.validate("bad", "value"));
+		assertNotNull("Expecting an empty selector to fail.", SelectorValidator.validate("id", " "));
+		assertNotNull("Expecting several class names to fail.", SelectorValidator.validate("class", "menu item"));
+		assertNotNull("Expecting a select option type to fail.", SelectorValidator.validate(SelectorType.INDEX, "1"));
+	}
+}
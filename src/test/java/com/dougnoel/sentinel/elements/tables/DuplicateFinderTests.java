@@ -0,0 +1,50 @@
+package com.dougnoel.sentinel.elements.tables;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class DuplicateFinderTests {
+
+	@Test
+	public void uniqueValuesHaveNoDuplicates() {
+		Map<String, List<Integer>> duplicates = DuplicateFinder.findDuplicates(Arrays.asList("Smith", "Smithson", "Jones"));
+		assertTrue("Values that only contain each other should not be exact duplicates.", duplicates.isEmpty());
+	}
+
+	@Test
+	public void reportEveryDuplicateGroup() {
+		Map<String, List<Integer>> duplicates = DuplicateFinder.findDuplicates(Arrays.asList("a", "b", "a", "c", "b", "a"));
+		assertEquals("Two duplicate groups should be found.", 2, duplicates.size());
+		assertEquals("Every index of the first duplicate should be reported.", Arrays.asList(0, 2, 5), duplicates.get("a"));
+		assertEquals("Every index of the second duplicate should be reported.", Arrays.asList(1, 4), duplicates.get("b"));
+	}
+
+	@Test
+	public void compositeKeysCompareEveryCell() {
+		List<List<String>> rows = Arrays.asList(
+				Arrays.asList("ab", "c"),
+				Arrays.asList("a", "bc"),
+				Arrays.asList("ab", "c"));
+		Map<List<String>, List<Integer>> duplicates = DuplicateFinder.findDuplicates(rows);
+		assertEquals("Only the identical rows should be duplicates.", 1, duplicates.size());
+		assertEquals("The identical rows should be reported.", Arrays.asList(0, 2), duplicates.get(Arrays.asList("ab", "c")));
+	}
+
+	@Test
+	public void partialDuplicatesIncludeContainingValues() {
+		Map<String, List<Integer>> duplicates = DuplicateFinder.findPartialDuplicates(Arrays.asList("Smithson", "Jones", "Smith", "Smith"));
+		assertEquals("Only one duplicate group should be found.", 1, duplicates.size());
+		assertEquals("The value, its copy and the value containing it should be reported.", Arrays.asList(0, 2, 3), duplicates.get("Smith"));
+	}
+
+	@Test
+	public void partialDuplicatesWithUniqueValues() {
+		assertTrue("Values that do not contain each other should be unique.",
+				DuplicateFinder.findPartialDuplicates(Arrays.asList("Smith", "Jones", "Brown")).isEmpty());
+	}
+}
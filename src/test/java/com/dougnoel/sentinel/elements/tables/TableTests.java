@@ -0,0 +1,91 @@
+package com.dougnoel.sentinel.elements.tables;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import com.dougnoel.sentinel.webdrivers.InMemoryWebDriver;
+import com.dougnoel.sentinel.webdrivers.WebDriverFactory;
+
+public class TableTests {
+	private static final String PEOPLE_TABLE = "<table id='people'>" +
+			"<tr><th>Name</th><th>Team</th></tr>" +
+			"<tr><td>Alice</td><td>Red</td></tr>" +
+			"<tr><td>Bob</td><td>Blue</td></tr>" +
+			"<tr><td>Alice</td><td>Red</td></tr>" +
+			"</table>";
+
+	@Test
+	public void ascendingValuesAreSorted() {
+		assertEquals("Numbers should be compared by value, not character by character.",
+				-1, Table.indexOfFirstUnsortedValue(Arrays.asList("Item 2", "Item 10", "Item 100"), true));
+	}
+
+	@Test
+	public void descendingValuesAreSorted() {
+		assertEquals("Values in descending order should be sorted descending.",
+				-1, Table.indexOfFirstUnsortedValue(Arrays.asList("Item 100", "Item 10", "Item 2"), false));
+	}
+
+	@Test
+	public void tiesAreSortedEitherWay() {
+		assertEquals("Equal values should not break an ascending sort.",
+				-1, Table.indexOfFirstUnsortedValue(Arrays.asList("a", "b", "b", "c"), true));
+		assertEquals("Equal values should not break a descending sort.",
+				-1, Table.indexOfFirstUnsortedValue(Arrays.asList("c", "b", "b", "a"), false));
+		assertEquals("A list of identical values should be sorted.",
+				-1, Table.indexOfFirstUnsortedValue(Arrays.asList("a", "a", "a"), false));
+	}
+
+	@Test
+	public void emptyAndSingleValueListsAreSorted() {
+		assertEquals("An empty list should be sorted.", -1, Table.indexOfFirstUnsortedValue(Collections.emptyList(), true));
+		assertEquals("A single value should be sorted.", -1, Table.indexOfFirstUnsortedValue(Collections.singletonList("a"), false));
+	}
+
+	@Test
+	public void unsortedFirstValueIsReported() {
+		assertEquals("The value after a first value that is too large should be reported.",
+				1, Table.indexOfFirstUnsortedValue(Arrays.asList("d", "a", "b", "c"), true));
+		assertEquals("The value after a first value that is too small should be reported.",
+				1, Table.indexOfFirstUnsortedValue(Arrays.asList("a", "d", "c", "b"), false));
+	}
+
+	@Test
+	public void unsortedLastValueIsReported() {
+		assertEquals("A last value that is too small should be reported.",
+				3, Table.indexOfFirstUnsortedValue(Arrays.asList("b", "c", "d", "a"), true));
+		assertEquals("A last value that is too large should be reported.",
+				3, Table.indexOfFirstUnsortedValue(Arrays.asList("c", "b", "a", "d"), false));
+	}
+
+	@Test
+	public void onlyTheFirstUnsortedValueIsReported() {
+		assertEquals("Only the index of the first value out of order should be reported.",
+				2, Table.indexOfFirstUnsortedValue(Arrays.asList("1", "3", "2", "5", "4"), true));
+	}
+
+	@Test
+	public void duplicateRowsAndColumnsReportTheSameRows() {
+		String originalBrowser = System.getProperty("browser");
+		System.setProperty("browser", "inmemory");
+		try {
+			((InMemoryWebDriver) WebDriverFactory.instantiateWebDriver()).loadHtml(PEOPLE_TABLE, "http://localhost/people.html");
+			Table table = new Table("people", Collections.singletonMap("id", "people"));
+			assertEquals("The header row should not be counted as a row of the column.",
+					Arrays.asList(0, 2), table.findDuplicateColumnCells("Name", false).get("Alice"));
+			assertEquals("The header row should not be counted as a row of the table.",
+					Arrays.asList(0, 2), table.findDuplicateRowCells(new String[] {"Name", "Team"}, false).get(Arrays.asList("Alice", "Red")));
+		} finally {
+			WebDriverFactory.quitAll();
+			if (originalBrowser == null) {
+				System.clearProperty("browser");
+			} else {
+				System.setProperty("browser", originalBrowser);
+			}
+		}
+	}
+}
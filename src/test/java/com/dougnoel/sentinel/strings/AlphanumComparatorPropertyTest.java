@@ -0,0 +1,164 @@
+package com.dougnoel.sentinel.strings;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Compares the AlphanumComparator and AlphanumKey against the original chunk-based
+ * implementation of the Alphanum Algorithm on randomly generated strings. A fixed seed
+ * is used so that any failure can be reproduced.
+ */
+public class AlphanumComparatorPropertyTest {
+	private static final int ITERATIONS = 20000;
+	// Digits, letters of both cases and punctuation so that every kind of chunk boundary is generated.
+	private static final String ALPHABET = "0012399aAbBzZ .-_";
+
+	private final AlphanumComparator comparator = new AlphanumComparator();
+
+	@Test
+	public void compareMatchesOriginalAlgorithm() {
+		Random random = new Random(42);
+		for (int i = 0; i < ITERATIONS; i++) {
+			String s1 = randomString(random);
+			String s2 = randomString(random);
+			assertEquals("Comparing \"" + s1 + "\" to \"" + s2 + "\" should give the same order as before.",
+					Integer.signum(referenceCompare(s1, s2)), Integer.signum(comparator.compare(s1, s2)));
+		}
+	}
+
+	@Test
+	public void compareIsAntisymmetric() {
+		Random random = new Random(7);
+		for (int i = 0; i < ITERATIONS; i++) {
+			String s1 = randomString(random);
+			String s2 = randomString(random);
+			assertEquals("Comparing \"" + s1 + "\" and \"" + s2 + "\" in either order should give opposite results.",
+					Integer.signum(comparator.compare(s1, s2)), -Integer.signum(comparator.compare(s2, s1)));
+		}
+	}
+
+	@Test
+	public void compareIsZeroOnlyForEqualStrings() {
+		Random random = new Random(13);
+		for (int i = 0; i < ITERATIONS; i++) {
+			String s1 = randomString(random);
+			String s2 = randomString(random);
+			assertEquals("\"" + s1 + "\" and \"" + s2 + "\" should only compare as equal if they are equal.",
+					s1.equals(s2), comparator.compare(s1, s2) == 0);
+			assertEquals("A string should always be equal to itself.", 0, comparator.compare(s1, new String(s1)));
+		}
+	}
+
+	@Test
+	public void keysCompareLikeTheComparator() {
+		Random random = new Random(99);
+		for (int i = 0; i < ITERATIONS; i++) {
+			String s1 = randomString(random);
+			String s2 = randomString(random);
+			assertEquals("Keys for \"" + s1 + "\" and \"" + s2 + "\" should compare like their strings.",
+					Integer.signum(comparator.compare(s1, s2)),
+					Integer.signum(AlphanumComparator.toKey(s1).compareTo(AlphanumComparator.toKey(s2))));
+		}
+	}
+
+	@Test
+	public void keySortMatchesComparatorSort() {
+		Random random = new Random(2020);
+		for (int i = 0; i < 200; i++) {
+			List<String> values = new ArrayList<>();
+			int size = random.nextInt(50);
+			for (int j = 0; j < size; j++) {
+				values.add(randomString(random));
+			}
+			List<String> expected = new ArrayList<>(values);
+			Collections.sort(expected, new ReferenceComparator());
+			AlphanumComparator.sort(values);
+			assertEquals("Sorting with keys should give the same order as the original algorithm.", expected, values);
+		}
+	}
+
+	@Test
+	public void nullsCompareAsEqual() {
+		assertEquals("A null string should compare as equal.", 0, comparator.compare(null, "a1"));
+		assertEquals("A null string should compare as equal.", 0, comparator.compare("a1", null));
+		assertEquals("A null key should compare as equal.", 0, AlphanumComparator.toKey(null).compareTo(AlphanumComparator.toKey("a1")));
+	}
+
+	private static String randomString(Random random) {
+		int length = random.nextInt(10);
+		StringBuilder builder = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+		}
+		return builder.toString();
+	}
+
+	private static class ReferenceComparator implements java.util.Comparator<String> {
+		@Override
+		public int compare(String s1, String s2) {
+			return referenceCompare(s1, s2);
+		}
+	}
+
+	/**
+	 * The original implementation of AlphanumComparator.compare(), which builds a new
+	 * chunk for every run of digits or non-digits.
+	 */
+	private static int referenceCompare(String s1, String s2) {
+		if ((s1 == null) || (s2 == null)) {
+			return 0;
+		}
+		int thisMarker = 0;
+		int thatMarker = 0;
+		int s1Length = s1.length();
+		int s2Length = s2.length();
+
+		while (thisMarker < s1Length && thatMarker < s2Length) {
+			String thisChunk = referenceChunk(s1, s1Length, thisMarker);
+			thisMarker += thisChunk.length();
+			String thatChunk = referenceChunk(s2, s2Length, thatMarker);
+			thatMarker += thatChunk.length();
+
+			int result = 0;
+			if (isDigit(thisChunk.charAt(0)) && isDigit(thatChunk.charAt(0))) {
+				int thisChunkLength = thisChunk.length();
+				result = thisChunkLength - thatChunk.length();
+				if (result == 0) {
+					for (int i = 0; i < thisChunkLength; i++) {
+						result = thisChunk.charAt(i) - thatChunk.charAt(i);
+						if (result != 0) {
+							return result;
+						}
+					}
+				}
+			} else {
+				result = thisChunk.compareTo(thatChunk);
+			}
+			if (result != 0)
+				return result;
+		}
+		return s1Length - s2Length;
+	}
+
+	private static String referenceChunk(String s, int slength, int marker) {
+		StringBuilder chunk = new StringBuilder();
+		char c = s.charAt(marker);
+		chunk.append(c);
+		marker++;
+		while (marker < slength && isDigit(s.charAt(marker)) == isDigit(c)) {
+			chunk.append(s.charAt(marker));
+			marker++;
+		}
+		return chunk.toString();
+	}
+
+	private static boolean isDigit(char ch) {
+		return ((ch >= 48) && (ch <= 57));
+	}
+}
@@ -5,7 +5,7 @@ import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
-@SuiteClasses({ AlphaNumComparatorTest.class, SentinelStringUtilsTest.class })
+@SuiteClasses({ AlphaNumComparatorTest.class, AlphanumComparatorPropertyTest.class, SentinelStringUtilsTest.class })
 public class StringsTests {
 
 }
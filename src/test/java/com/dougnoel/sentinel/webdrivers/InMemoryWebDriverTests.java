@@ -0,0 +1,147 @@
+package com.dougnoel.sentinel.webdrivers;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+
+public class InMemoryWebDriverTests {
+	private static final String TEST_PAGE = new File("src/test/java/com/dougnoel/sentinel/webdrivers/InMemoryTestPage.html").toURI().toString();
+
+	private InMemoryWebDriver driver;
+
+	@Before
+	public void setUp() {
+		driver = new InMemoryWebDriver();
+		driver.get(TEST_PAGE);
+	}
+
+	@Test
+	public void loadPageFromFile() {
+		assertEquals("Expecting the page title.", "In Memory Test Page", driver.getTitle());
+		assertEquals("Expecting the page URL.", TEST_PAGE, driver.getCurrentUrl());
+	}
+
+	@Test
+	public void findElementsWithEverySelectorType() {
+		assertEquals("Expecting to find by id.", "h1", driver.findElement(By.id("heading")).getTagName());
+		assertEquals("Expecting to find by class name.", "h1", driver.findElement(By.className("main")).getTagName());
+		assertEquals("Expecting to find by css selector.", "h1", driver.findElement(By.cssSelector("h1.title")).getTagName());
+		assertEquals("Expecting to find by name.", "input", driver.findElement(By.name("lastName")).getTagName());
+		assertEquals("Expecting to find by xpath.", "Registration", driver.findElement(By.xpath("//h1[@id='heading']")).getText());
+		assertEquals("Expecting to find by link text.", "next", driver.findElement(By.linkText("Next page")).getAttribute("id"));
+		assertEquals("Expecting to find by partial link text.", "next", driver.findElement(By.partialLinkText("Next")).getAttribute("id"));
+		assertEquals("Expecting to find every row by tag name.", 3, driver.findElements(By.tagName("tr")).size());
+	}
+
+	@Test
+	public void findElementsInsideAnElement() {
+		WebElement table = driver.findElement(By.id("results"));
+		List<WebElement> rows = table.findElements(By.tagName("tr"));
+		assertEquals("Expecting the second row's cells.", 2, rows.get(1).findElements(By.tagName("td")).size());
+		assertEquals("Expecting the text of the first cell.", "Alice", rows.get(1).findElement(By.tagName("td")).getText());
+		assertTrue("An element should not find itself.", table.findElements(By.tagName("table")).isEmpty());
+	}
+
+	@Test(expected = NoSuchElementException.class)
+	public void missingElementThrowsNoSuchElement() {
+		driver.findElement(By.id("doesNotExist"));
+	}
+
+	@Test(expected = InvalidSelectorException.class)
+	public void badXPathThrowsInvalidSelector() {
+		driver.findElement(By.xpath("//[bad"));
+	}
+
+	@Test
+	public void readAttributesAndState() {
+		WebElement firstName = driver.findElement(By.id("firstName"));
+		assertEquals("Expecting the value attribute.", "Doug", firstName.getAttribute("value"));
+		assertNull("Expecting null for a missing attribute.", firstName.getAttribute("placeholder"));
+		assertFalse("Expecting a disabled button.", driver.findElement(By.tagName("button")).isEnabled());
+		assertEquals("Expecting the first option to be the select value.", "NC", driver.findElement(By.name("state")).getAttribute("value"));
+	}
+
+	@Test
+	public void hiddenElementsAreNotDisplayed() {
+		WebElement secret = driver.findElement(By.className("secret"));
+		assertFalse("Expecting an element inside display:none to be hidden.", secret.isDisplayed());
+		assertEquals("Expecting no text for a hidden element.", "", secret.getText());
+		assertFalse("Expecting a hidden input to be hidden.", driver.findElement(By.name("token")).isDisplayed());
+		assertTrue("Expecting the heading to be displayed.", driver.findElement(By.id("heading")).isDisplayed());
+	}
+
+	@Test
+	public void typeIntoFields() {
+		WebElement lastName = driver.findElement(By.name("lastName"));
+		lastName.sendKeys("Noel");
+		assertEquals("Expecting typed text.", "Noel", lastName.getAttribute("value"));
+		lastName.clear();
+		lastName.sendKeys("Smith");
+		assertEquals("Expecting cleared and retyped text.", "Smith", lastName.getAttribute("value"));
+
+		WebElement comments = driver.findElement(By.name("comments"));
+		comments.sendKeys("Hello");
+		assertEquals("Expecting typed text in a text area.", "Hello", comments.getAttribute("value"));
+	}
+
+	@Test
+	public void clickCheckBoxesAndOptions() {
+		WebElement subscribe = driver.findElement(By.id("subscribe"));
+		assertFalse("Expecting an unchecked box.", subscribe.isSelected());
+		subscribe.click();
+		assertTrue("Expecting a checked box after a click.", subscribe.isSelected());
+
+		driver.findElement(By.xpath("//option[@value='VA']")).click();
+		assertEquals("Expecting the clicked option to be the select value.", "VA", driver.findElement(By.name("state")).getAttribute("value"));
+	}
+
+	@Test
+	public void clickLinkNavigatesAndOldElementsGoStale() {
+		WebElement link = driver.findElement(By.id("next"));
+		link.click();
+		assertEquals("Expecting the link URL.", TEST_PAGE + "?page=2", driver.getCurrentUrl());
+		try {
+			link.getText();
+			fail("Expecting a StaleElementReferenceException after navigating.");
+		} catch (StaleElementReferenceException e) {
+			// Expected
+		}
+		driver.navigate().back();
+		assertEquals("Expecting to go back to the first page.", TEST_PAGE, driver.getCurrentUrl());
+	}
+
+	@Test
+	public void loadHtmlFromString() {
+		driver.loadHtml("<html><body><p id='greeting'>Hello</p></body></html>", "http://localhost/");
+		assertEquals("Expecting the loaded text.", "Hello", driver.findElement(By.id("greeting")).getText());
+	}
+
+	@Test
+	public void goBackToPageLoadedFromString() {
+		driver.loadHtml("<html><body><input id='greeting' value='Hello'></body></html>", "http://localhost/greeting");
+		driver.findElement(By.id("greeting")).sendKeys(" there");
+		driver.get(TEST_PAGE);
+		driver.navigate().back();
+		assertEquals("Expecting the made up URL of the page.", "http://localhost/greeting", driver.getCurrentUrl());
+		assertEquals("Expecting the page as it was loaded.", "Hello", driver.findElement(By.id("greeting")).getAttribute("value"));
+		driver.findElement(By.id("greeting")).sendKeys(" again");
+		driver.navigate().refresh();
+		assertEquals("Expecting a refresh to show the page as it was loaded.", "Hello", driver.findElement(By.id("greeting")).getAttribute("value"));
+	}
+
+	@Test(expected = NoSuchWindowException.class)
+	public void switchingToTheWindowDoesNotReopenIt() {
+		driver.quit();
+		driver.switchTo().window("inmemory");
+	}
+}
@@ -0,0 +1,93 @@
+package com.dougnoel.sentinel.webdrivers;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.openqa.selenium.WebDriver;
+
+public class WebDriverPoolTests {
+	private static final String TEST_PAGE = new File("src/test/java/com/dougnoel/sentinel/webdrivers/InMemoryTestPage.html").toURI().toString();
+	private static String originalBrowser = null;
+
+	@BeforeClass
+	public static void setUpBeforeAnyTestsAreRun() {
+		originalBrowser = System.getProperty("browser");
+		System.setProperty("browser", "inmemory");
+		System.setProperty("driverPoolSize", "1");
+	}
+
+	@AfterClass
+	public static void tearDownAfterAllTestsAreFinished() {
+		System.clearProperty("driverPoolSize");
+		if (originalBrowser == null) {
+			System.clearProperty("browser");
+		} else {
+			System.setProperty("browser", originalBrowser);
+		}
+	}
+
+	@After
+	public void tearDown() {
+		WebDriverFactory.quitAll();
+	}
+
+	@Test
+	public void returnedDriverIsResetAndLentAgain() {
+		WebDriver driver = WebDriverPool.borrow();
+		driver.get(TEST_PAGE);
+		WebDriverPool.release(driver);
+		WebDriver borrowed = WebDriverPool.borrow();
+		assertSame("Expecting the returned driver to be lent again.", driver, borrowed);
+		assertEquals("Expecting the returned driver to be reset to a blank page.", "about:blank", borrowed.getCurrentUrl());
+	}
+
+	@Test
+	public void unhealthyDriverIsReplaced() {
+		WebDriver driver = WebDriverPool.borrow();
+		WebDriverPool.release(driver);
+		driver.quit();
+		WebDriver borrowed = WebDriverPool.borrow();
+		assertNotSame("Expecting a driver that has quit to be replaced.", driver, borrowed);
+		assertFalse("Expecting the replaced driver to be removed from the pool.", WebDriverPool.owns(driver));
+		assertTrue("Expecting the new driver to belong to the pool.", WebDriverPool.owns(borrowed));
+	}
+
+	@Test
+	public void returnedDriverIsReplacedWhenConfigured() {
+		System.setProperty("driverPoolReset", "replace");
+		try {
+			WebDriver driver = WebDriverPool.borrow();
+			driver.get(TEST_PAGE);
+			WebDriverPool.release(driver);
+			assertFalse("Expecting the returned driver to be removed from the pool.", WebDriverPool.owns(driver));
+			WebDriver borrowed = WebDriverPool.borrow();
+			assertNotSame("Expecting a new driver to be lent.", driver, borrowed);
+			assertNotEquals("Expecting the new driver not to be on the page the old one was on.", TEST_PAGE, borrowed.getCurrentUrl());
+		} finally {
+			System.clearProperty("driverPoolReset");
+		}
+	}
+
+	@Test
+	public void threadsGetTheirOwnDriver() throws InterruptedException {
+		System.setProperty("driverPoolSize", "2");
+		try {
+			WebDriver mainDriver = WebDriverFactory.instantiateWebDriver();
+			WebDriver[] otherDriver = new WebDriver[1];
+			Thread other = new Thread(() -> otherDriver[0] = WebDriverFactory.getWebDriver());
+			other.start();
+			other.join();
+			assertNotNull("Expecting the other thread to get a driver.", otherDriver[0]);
+			assertNotSame("Expecting each thread to have its own driver.", mainDriver, otherDriver[0]);
+			assertSame("Expecting the same driver on the same thread.", mainDriver, WebDriverFactory.getWebDriver());
+			assertTrue("Expecting the driver to be returned to the pool.", WebDriverFactory.release());
+		} finally {
+			System.setProperty("driverPoolSize", "1");
+		}
+	}
+}
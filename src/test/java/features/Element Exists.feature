@@ -7,4 +7,10 @@ Feature: Validate the Fucntionality of Elements Existing and Not Existing
     Then I verify the Example Div exists
     	And I verify the Example Link exists
     	And I verify the Invisible Div does not exist
-    	And I verify the Fake Div does not exist
\ No newline at end of file
+    	And I verify the Fake Div does not exist
+    	And I verify the following elements:
+    		| Element       | Exists | Visible | Contains    |
+    		| Example Div   | yes    | yes     |             |
+    		| Example Link  | yes    | yes     | i am a link |
+    		| Invisible Div |        | no      |             |
+    		| Fake Div      | no     |         |             |
@@ -10,7 +10,6 @@ import org.junit.runner.RunWith;
 
 import com.dougnoel.sentinel.configurations.ConfigurationManager;
 import com.dougnoel.sentinel.exceptions.SentinelException;
-import com.dougnoel.sentinel.pages.PageManager;
 import com.dougnoel.sentinel.webdrivers.WebDriverFactory;
 
 import io.cucumber.junit.CucumberOptions;
@@ -42,7 +41,7 @@ public class SentinelTests {
         }
     	log.info("Driver: {}", WebDriverFactory.getWebDriver());
         if (System.getProperty("leaveBrowserOpen", "false") == "false") {
-        	PageManager.quit();
+        	WebDriverFactory.quitAll();
         }
     }
 }
\ No newline at end of file